@@ -3,17 +3,29 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.StreamingClient;
 import ru.practicum.shareit.exception.UnknownStateException;
+import ru.practicum.shareit.exception.ValidateException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -22,6 +34,10 @@ import javax.validation.constraints.PositiveOrZero;
 @Validated
 public class BookingController {
 	private final BookingClient bookingClient;
+	private final StreamingClient streamingClient;
+
+	@Value("${shareit.booking.bulk.max-size:100}")
+	private int bulkMaxSize;
 
 	@GetMapping
 	public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -30,21 +46,28 @@ public class BookingController {
 			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(UnknownStateException::new);
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+		log.debug("Get bookings", kv("state", stateParam), kv("userId", userId), kv("from", from), kv("size", size));
 		return bookingClient.getBookings(userId, state, from, size);
 	}
 
+	@ResponseBody
+	@GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<String>> stream(@RequestHeader("X-Sharer-User-Id") long userId) {
+		log.debug("Subscribe to bookings stream", kv("userId", userId));
+		return streamingClient.stream("/bookings/stream", userId);
+	}
+
 	@PostMapping
 	public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestBody @Valid BookItemRequestDto requestDto) {
-		log.info("Creating booking {}, userId={}", requestDto, userId);
+		log.debug("Creating booking", kv("itemId", requestDto.getItemId()), kv("userId", userId));
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
 	@GetMapping("/{bookingId}")
 	public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
 			@PathVariable Long bookingId) {
-		log.info("Get booking {}, userId={}", bookingId, userId);
+		log.debug("Get booking", kv("bookingId", bookingId), kv("userId", userId));
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
@@ -52,10 +75,21 @@ public class BookingController {
 	public ResponseEntity<Object> updateStatus(@RequestHeader("X-Sharer-User-Id") long userId,
 											   @PathVariable  long bookingId,
 											   @RequestParam boolean approved) {
-		log.info("Updating booking {}, userId={}", bookingId, userId);
+		log.debug("Updating booking", kv("bookingId", bookingId), kv("userId", userId),
+				kv("approved", approved));
 		return bookingClient.patchBooking(userId, bookingId, approved);
 	}
 
+	@PatchMapping("/owner/bulk")
+	public ResponseEntity<Object> updateStatuses(@RequestHeader("X-Sharer-User-Id") long ownerId,
+												 @RequestBody @NotEmpty List<@Valid BookingDecisionDto> decisions) {
+		if (decisions.size() > bulkMaxSize) {
+			throw new ValidateException("no more than " + bulkMaxSize + " decisions are allowed");
+		}
+		log.debug("Updating bookings", kv("ownerId", ownerId), kv("decisions", decisions.size()));
+		return bookingClient.patchBookings(ownerId, decisions);
+	}
+
 	@GetMapping("/owner")
 	public ResponseEntity<Object> getAllByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
 												@RequestParam(name = "state", defaultValue = "all") String stateParam,
@@ -66,4 +100,12 @@ public class BookingController {
 
 		return bookingClient.getBookingsByOwner(ownerId, state, from, size);
 	}
+
+	@GetMapping("/owner/export")
+	public void exportByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+							  @RequestParam(defaultValue = "ndjson") String format,
+							  HttpServletResponse response) {
+		log.debug("Exporting bookings", kv("ownerId", ownerId), kv("format", format));
+		bookingClient.exportBookingsByOwner(ownerId, format, response);
+	}
 }
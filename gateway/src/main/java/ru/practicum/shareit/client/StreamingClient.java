@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class StreamingClient {
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+
+    public StreamingClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    public Flux<ServerSentEvent<String>> stream(String path, long userId) {
+        return webClient.get()
+                .uri(path)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .onStatus(HttpStatus::isError, StreamingClient::toException)
+                .bodyToFlux(EVENT_TYPE);
+    }
+
+    public <T> Flux<T> streamJson(String path, Class<T> type) {
+        return webClient.get()
+                .uri(path)
+                .accept(MediaType.parseMediaType(NDJSON_VALUE))
+                .retrieve()
+                .onStatus(HttpStatus::isError, StreamingClient::toException)
+                .bodyToFlux(type);
+    }
+
+    public <T> Flux<T> postJson(String path, Long userId, Object body, Class<T> type) {
+        WebClient.RequestBodySpec request = webClient.post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.parseMediaType(NDJSON_VALUE));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return request.bodyValue(body)
+                .retrieve()
+                .onStatus(HttpStatus::isError, StreamingClient::toException)
+                .bodyToFlux(type);
+    }
+
+    private static Mono<? extends Throwable> toException(ClientResponse response) {
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> new ResponseStatusException(response.statusCode(), body));
+    }
+}
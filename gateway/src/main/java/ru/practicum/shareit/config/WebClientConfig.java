@@ -5,8 +5,10 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.client.StreamingClient;
 import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.request.ItemRequestClient;
 import ru.practicum.shareit.user.UserClient;
@@ -54,6 +56,11 @@ public class WebClientConfig {
         return new ItemRequestClient(restTemplate);
     }
 
+    @Bean
+    public StreamingClient streamingClient(WebClient.Builder webClientBuilder) {
+        return new StreamingClient(webClientBuilder.baseUrl(serverUrl).build());
+    }
+
     @Bean
     public UserClient userClient(RestTemplateBuilder restTemplateBuilder) {
         var restTemplate = restTemplateBuilder
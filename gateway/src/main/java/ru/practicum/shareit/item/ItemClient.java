@@ -7,6 +7,9 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 
@@ -25,10 +28,43 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getDashboard(long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/dashboard?from={from}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getItem(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
+    public ResponseEntity<Object> getComments(long userId, long itemId, Long cursor, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        String path = "/" + itemId + "/comments?size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(long userId, long itemId, LocalDate from, LocalDate to) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder path = new StringBuilder("/" + itemId + "/availability");
+        if (from != null) {
+            parameters.put("from", from);
+            path.append("?from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            path.append(from == null ? "?" : "&").append("to={to}");
+        }
+        return get(path.toString(), userId, parameters);
+    }
+
     public ResponseEntity<Object> getItemByText(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
@@ -38,6 +74,18 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
+    public ResponseEntity<Object> getItemByText(String text, LocalDateTime start, LocalDateTime end,
+                                                int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", null, parameters);
+    }
+
     public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
@@ -49,4 +97,12 @@ public class ItemClient extends BaseClient {
     public ResponseEntity<Object> patchItem(long userId, long id, ItemDto itemDto) {
         return patch("/" + id, userId, itemDto);
     }
+
+    public ResponseEntity<Object> deleteItem(long userId, long id) {
+        return delete("/" + id, userId);
+    }
+
+    public ResponseEntity<Object> deleteAll() {
+        return delete("");
+    }
 }
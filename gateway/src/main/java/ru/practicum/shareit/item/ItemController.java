@@ -2,20 +2,26 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.TimeException;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
-import static org.springframework.http.RequestEntity.delete;
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Slf4j
 @Validated
@@ -33,20 +39,60 @@ public class ItemController {
         return itemClient.getItems(sharerId, from, size);
     }
 
+    @GetMapping("/dashboard")
+    public ResponseEntity<Object> getDashboard(@RequestHeader("X-Sharer-User-Id") long sharerId,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                               @RequestParam(defaultValue = "100") @Positive int size) {
+        log.debug("Get owner dashboard", kv("sharerId", sharerId), kv("from", from), kv("size", size));
+        return itemClient.getDashboard(sharerId, from, size);
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") long sharerId,
                                                  @PathVariable long itemId) {
-        log.info("Get sharerId {}, itemId={}", sharerId, itemId);
+        log.debug("Get item", kv("sharerId", sharerId), kv("itemId", itemId));
         return itemClient.getItem(sharerId, itemId);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader("X-Sharer-User-Id") long sharerId,
+                                              @PathVariable long itemId,
+                                              @RequestParam(required = false) Long cursor,
+                                              @RequestParam(defaultValue = "20") @Positive @Max(100) int size) {
+        log.debug("Get item comments", kv("itemId", itemId), kv("cursor", cursor), kv("size", size));
+        return itemClient.getComments(sharerId, itemId, cursor, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader("X-Sharer-User-Id") long sharerId,
+                                                  @PathVariable long itemId,
+                                                  @RequestParam(required = false)
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam(required = false)
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Get item availability", kv("itemId", itemId), kv("from", from), kv("to", to));
+        return itemClient.getAvailability(sharerId, itemId, from, to);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> getByText(@RequestParam String text,
+                                   @RequestParam(required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                   @RequestParam(required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                    @RequestParam(defaultValue = "0") @PositiveOrZero int from,
                                    @RequestParam(defaultValue = "100") @Positive int size) {
+            if ((start == null) != (end == null)) {
+                throw new ValidateException("start and end must be given together");
+            }
+            if (start != null && !start.isBefore(end)) {
+                throw new TimeException("start is not before end");
+            }
 
             if (text.isBlank()) {
                 return new ResponseEntity<>(List.of(), HttpStatus.OK);
+            } else if (start != null) {
+                return itemClient.getItemByText(text, start, end, from, size);
             } else {
                 return itemClient.getItemByText(text, from, size);
             }
@@ -73,13 +119,13 @@ public class ItemController {
     }
 
     @DeleteMapping("/{id}")
-    public void deleteById(@RequestHeader("X-Sharer-User-Id") long sharerId,
-                           @PathVariable long id) {
-        delete("/" + id, sharerId);
+    public ResponseEntity<Object> deleteById(@RequestHeader("X-Sharer-User-Id") long sharerId,
+                                             @PathVariable long id) {
+        return itemClient.deleteItem(sharerId, id);
     }
 
     @DeleteMapping
-    public void deleteAll() {
-        delete("");
+    public ResponseEntity<Object> deleteAll() {
+        return itemClient.deleteAll();
     }
 }
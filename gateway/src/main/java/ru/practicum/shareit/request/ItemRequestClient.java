@@ -6,6 +6,7 @@ import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 
@@ -24,12 +25,32 @@ public class ItemRequestClient extends BaseClient {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getAllAnotherUsers(long requestorId, Integer from, Integer size) {
+    public ResponseEntity<Object> getAllAnotherUsers(long requestorId, Integer from, int size,
+                                                     String cursor, String since) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        StringBuilder path = new StringBuilder("/all?size={size}");
+        if (from != null) {
+            parameters.put("from", from);
+            path.append("&from={from}");
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path.append("&cursor={cursor}");
+        }
+        if (since != null) {
+            parameters.put("since", since);
+            path.append("&since={since}");
+        }
+        return get(path.toString(), requestorId, parameters);
+    }
+
+    public ResponseEntity<Object> getMatches(long ownerId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", requestorId, parameters);
+        return get("/matches?from={from}&size={size}", ownerId, parameters);
     }
 
     public ResponseEntity<Object> create(long requestorId, ItemRequestDto itemRequestDto) {
@@ -1,15 +1,23 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.client.StreamingClient;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @Validated
 @Controller
@@ -18,6 +26,10 @@ import javax.validation.constraints.PositiveOrZero;
 public class ItemRequestController {
 
     private final ItemRequestClient itemRequestClient;
+    private final StreamingClient streamingClient;
+
+    @Value("${shareit.batch.max-size:10000}")
+    private int batchMaxSize;
 
     @GetMapping
     public ResponseEntity<Object> getAll(@RequestHeader("X-Sharer-User-Id") long requestorId) {
@@ -32,9 +44,24 @@ public class ItemRequestController {
 
     @GetMapping("/all")
     public ResponseEntity<Object> getAllAnotherUsers(@RequestHeader("X-Sharer-User-Id") long requestorId,
-                                            @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
-                                            @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
-        return itemRequestClient.getAllAnotherUsers(requestorId, from, size);
+                                            @RequestParam(name = "from", required = false) @PositiveOrZero Integer from,
+                                            @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+                                            @RequestParam(name = "cursor", required = false) String cursor,
+                                            @RequestParam(name = "since", required = false) String since) {
+        return itemRequestClient.getAllAnotherUsers(requestorId, from, size, cursor, since);
+    }
+
+    @ResponseBody
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return streamingClient.stream("/requests/stream", userId);
+    }
+
+    @GetMapping("/matches")
+    public ResponseEntity<Object> getMatches(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                             @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+        return itemRequestClient.getMatches(ownerId, from, size);
     }
 
     @PostMapping
@@ -42,4 +69,14 @@ public class ItemRequestController {
                                              @RequestBody @Valid ItemRequestDto itemRequestDto) {
         return itemRequestClient.create(requestorId, itemRequestDto);
     }
+
+    @ResponseBody
+    @PostMapping(path = "/batch", produces = StreamingClient.NDJSON_VALUE)
+    public Flux<Object> createBatch(@RequestHeader("X-Sharer-User-Id") long requestorId,
+                                    @RequestBody @NotEmpty List<ItemRequestDto> requests) {
+        if (requests.size() > batchMaxSize) {
+            throw new ValidateException("no more than " + batchMaxSize + " rows are allowed");
+        }
+        return streamingClient.postJson("/requests/batch", requestorId, requests, Object.class);
+    }
 }
@@ -6,6 +6,9 @@ import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.HashMap;
+import java.util.Map;
+
 
 public class UserClient extends BaseClient {
 
@@ -14,8 +17,15 @@ public class UserClient extends BaseClient {
         super(builder);
     }
 
-    public ResponseEntity<Object> getUsers() {
-        return get("");
+    public ResponseEntity<Object> getUsers(Long cursor, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        String path = "?size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, null, parameters);
     }
 
     public ResponseEntity<Object> getUser(long id) {
@@ -34,4 +44,12 @@ public class UserClient extends BaseClient {
 
         return delete("/" + id);
     }
+
+    public ResponseEntity<Object> deleteUserWithData(long id) {
+        return delete("/" + id + "/data");
+    }
+
+    public ResponseEntity<Object> deleteAll() {
+        return delete("");
+    }
 }
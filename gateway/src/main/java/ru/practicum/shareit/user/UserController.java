@@ -1,25 +1,43 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.client.StreamingClient;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.util.Create;
 import ru.practicum.shareit.util.Update;
 
-import static org.springframework.http.RequestEntity.delete;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import java.util.List;
 
+
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
 public class UserController {
 
     private final UserClient userClient;
+    private final StreamingClient streamingClient;
+
+    @Value("${shareit.batch.max-size:10000}")
+    private int batchMaxSize;
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
-        return userClient.getUsers();
+    public ResponseEntity<Object> getAll(@RequestParam(required = false) Long cursor,
+                                         @RequestParam(defaultValue = "100") @Positive int size) {
+        return userClient.getUsers(cursor, size);
+    }
+
+    @GetMapping(path = "/stream", produces = StreamingClient.NDJSON_VALUE)
+    public Flux<UserDto> stream() {
+        return streamingClient.streamJson("/users/stream", UserDto.class);
     }
 
     @GetMapping("/{id}")
@@ -32,6 +50,14 @@ public class UserController {
         return userClient.create(userDto);
     }
 
+    @PostMapping(path = "/batch", produces = StreamingClient.NDJSON_VALUE)
+    public Flux<Object> createBatch(@RequestBody @NotEmpty List<UserDto> users) {
+        if (users.size() > batchMaxSize) {
+            throw new ValidateException("no more than " + batchMaxSize + " rows are allowed");
+        }
+        return streamingClient.postJson("/users/batch", null, users, Object.class);
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<Object> patch(@PathVariable long id, @Validated(Update.class) @RequestBody UserDto userDto) {
         return userClient.patchUser(id, userDto);
@@ -43,9 +69,14 @@ public class UserController {
         return userClient.deleteUser(userId);
     }
 
+    @DeleteMapping("/{userId}/data")
+    public ResponseEntity<Object> deleteWithData(@PathVariable long userId) {
+        return userClient.deleteUserWithData(userId);
+    }
+
     @DeleteMapping
-    public void deleteAll() {
-        delete("");
+    public ResponseEntity<Object> deleteAll() {
+        return userClient.deleteAll();
     }
 }
 
@@ -2,16 +2,26 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidateException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.List;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
@@ -31,14 +41,21 @@ public class BookingController {
     public BookingDtoOutput updateStatus(@RequestHeader("X-Sharer-User-Id") long sharerId,
                                          @PathVariable  long bookingId,
                                          @RequestParam boolean approved) {
-        log.debug("Request PATCH to /bookings/{}", bookingId);
+        log.debug("Request PATCH to /bookings {}", kv("bookingId", bookingId));
         return bookingService.updateStatusOfBooking(sharerId, bookingId, approved);
     }
 
+    @PatchMapping("/owner/bulk")
+    public List<BookingDecisionResult> updateStatuses(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                      @RequestBody List<BookingDecisionDto> decisions) {
+        log.debug("Request PATCH to /bookings/owner/bulk", kv("decisions", decisions.size()));
+        return bookingService.updateStatusesOfBookings(ownerId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDtoOutput getById(@RequestHeader("X-Sharer-User-Id") long userId,
                                     @PathVariable long bookingId) {
-        log.debug("Request GET to /bookings/{}", bookingId);
+        log.debug("Request GET to /bookings {}", kv("bookingId", bookingId));
         return bookingService.getById(userId, bookingId);
     }
 
@@ -59,4 +76,23 @@ public class BookingController {
         log.debug("Request GET to /bookings/owner");
         return bookingService.getAllByOwner(ownerId,state, from, size);
     }
-}
\ No newline at end of file
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.debug("Request GET to /bookings/stream", kv("userId", userId));
+        return bookingService.subscribe(userId);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                               @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format)
+                .orElseThrow(() -> new ValidateException("Unknown export format: " + format));
+        log.debug("Request GET to /bookings/owner/export", kv("ownerId", ownerId), kv("format", exportFormat));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                .body(out -> bookingService.exportByOwner(ownerId, exportFormat, out));
+    }
+}
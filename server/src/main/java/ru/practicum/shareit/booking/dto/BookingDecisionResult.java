@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.Status;
+
+@Data
+@AllArgsConstructor
+public class BookingDecisionResult {
+    private Long bookingId;
+    private Status status;
+    private String error;
+}
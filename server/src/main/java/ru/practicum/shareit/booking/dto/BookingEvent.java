@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingEvent {
+    private Long id;
+    private Long itemId;
+    private Long bookerId;
+    private Status status;
+    private Status previousStatus;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -2,14 +2,27 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingExportRow;
 import ru.practicum.shareit.booking.model.Booking;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
@@ -36,13 +49,38 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findBookingsByItem_Owner_IdAndStatus(long ownerId, Pageable pageable, Status status);
 
-    List<Booking> findBookingsByBooker_IdAndItem_IdAndEndIsBefore(long bookerId, long itemId,
-                                                                  LocalDateTime localDateTime);
+    List<Booking> findBookingsByItem_IdAndStatus(long itemId, Status status);
+
+    boolean existsByBooker_IdAndItem_IdAndEndBefore(long bookerId, long itemId, LocalDateTime end);
 
     Optional<Booking> findFirstByItem_IdAndStartBeforeOrderByEndDesc(long id, LocalDateTime localDateTime);
 
     Optional<Booking> findFirstByItem_IdAndStartAfterOrderByEndDesc(long id, LocalDateTime localDateTime);
 
+    boolean existsByItem_IdAndStatusAndStartBeforeAndEndAfter(long itemId, Status status, LocalDateTime end,
+                                                              LocalDateTime start);
+
+    boolean existsByItem_IdAndIdNotAndStatusAndStartBeforeAndEndAfter(long itemId, long id, Status status,
+                                                                      LocalDateTime end, LocalDateTime start);
+
+    @Query("select b.item.id from Booking as b where b.id = ?1")
+    Optional<Long> findItemIdById(long id);
+
+    @Query("select b from Booking as b join fetch b.booker join fetch b.item as i join fetch i.owner " +
+            "where b.id in ?1 and i.owner.id = ?2")
+    List<Booking> findAllByIdInAndItemOwnerId(Collection<Long> ids, long ownerId);
+
+    List<Booking> findByItem_IdInAndStatusAndEndAfter(Collection<Long> itemIds, Status status, LocalDateTime end);
+
+    Optional<Booking> findFirstByItem_IdAndStatusAndStartLessThanEqualOrderByEndDesc(long itemId, Status status,
+                                                                                   LocalDateTime now);
+
+    Optional<Booking> findFirstByItem_IdAndStatusAndStartAfterOrderByEndAsc(long itemId, Status status,
+                                                                          LocalDateTime now);
+
+    Optional<Booking> findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(long itemId, Status status,
+                                                                            LocalDateTime now);
+
     @Query(value = "select book from Booking as book where book.item.id in ?1 and book.status = 'APPROVED'" +
             " and book.start <= current_timestamp order by book.end desc")
     List<Booking> findLastBookings(Set<Long> itemsId);
@@ -50,4 +88,35 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query(value = "select book from Booking as book where book.item.id in ?1 and book.status = 'APPROVED'" +
             " and book.start > current_timestamp order by book.end asc")
     List<Booking> findNextBookings(Set<Long> itemsId);
-}
\ No newline at end of file
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select new ru.practicum.shareit.booking.dto.BookingExportRow(b.id, b.start, b.end, i.id, i.name, " +
+            "u.id, u.name, b.status) from Booking as b join b.item as i join b.booker as u " +
+            "where i.owner.id = ?1 order by b.id")
+    Stream<BookingExportRow> streamExportRowsByOwnerId(long ownerId);
+
+    @Query("select b.id from Booking as b where b.status = ?1 and b.start < ?2 and b.id > ?3 order by b.id")
+    List<Long> findIdsByStatusAndStartBeforeAfterId(Status status, LocalDateTime start, long afterId,
+                                                     Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id from Booking as b where b.id in ?1 and b.status = ?2")
+    List<Long> findAndLockIdsByIdInAndStatus(Collection<Long> ids, Status status);
+
+    @Query("select b from Booking as b join fetch b.booker join fetch b.item as i join fetch i.owner " +
+            "where b.id in ?1")
+    List<Booking> findWithBookerAndItemByIdIn(Collection<Long> ids);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking as b set b.status = ?3, b.version = b.version + 1 where b.id in ?1 and b.status = ?2")
+    int updateStatusByIdIn(Collection<Long> ids, Status from, Status to);
+
+    @Query("select distinct b.item.id from Booking as b where b.booker.id = ?1")
+    List<Long> findItemIdsByBookerId(long bookerId);
+
+    @Modifying
+    @Query("delete from Booking as b where b.booker.id = ?1 " +
+            "or b.item.id in (select i.id from Item as i where i.owner.id = ?1)")
+    int deleteByBookerOrItemOwner(long userId);
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+public class BookingExpiryJob {
+
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final int batchSize;
+    private final Counter expired;
+
+    public BookingExpiryJob(BookingRepository bookingRepository,
+                            BookingService bookingService,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.booking.expiry.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+        this.expired = meterRegistry.counter("shareit.booking.expired");
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.interval-ms:60000}")
+    public void expireWaitingBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = bookingRepository.findIdsByStatusAndStartBeforeAfterId(Status.WAITING, now, afterId,
+                    PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                int updated = bookingService.expireWaitingBookings(ids);
+                expired.increment(updated);
+                total += updated;
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == batchSize);
+        if (total > 0) {
+            log.info("Expired waiting bookings {}", kv("count", total));
+        }
+    }
+}
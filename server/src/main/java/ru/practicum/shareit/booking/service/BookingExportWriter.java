@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.ExportFormat;
+import ru.practicum.shareit.booking.dto.BookingExportRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class BookingExportWriter {
+
+    private static final String CSV_HEADER = "id,start,end,itemId,itemName,bookerId,bookerName,status";
+
+    private final ObjectMapper objectMapper;
+
+    public long write(Stream<BookingExportRow> rows, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter json = objectMapper.writerFor(BookingExportRow.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long count = 0;
+        Iterator<BookingExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            BookingExportRow row = iterator.next();
+            if (format == ExportFormat.CSV) {
+                writeCsv(writer, row);
+            } else {
+                json.writeValue(writer, row);
+            }
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsv(Writer writer, BookingExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getStart()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getEnd()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getItemId()));
+        writer.write(',');
+        writer.write(escape(row.getItemName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getBookerId()));
+        writer.write(',');
+        writer.write(escape(row.getBookerName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getStatus()));
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
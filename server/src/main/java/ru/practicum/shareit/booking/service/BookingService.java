@@ -1,9 +1,15 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.ExportFormat;
 import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BookingService {
@@ -11,9 +17,17 @@ public interface BookingService {
 
     BookingDtoOutput updateStatusOfBooking(long sharerId, long id, boolean approved);
 
+    List<BookingDecisionResult> updateStatusesOfBookings(long ownerId, List<BookingDecisionDto> decisions);
+
     BookingDtoOutput getById(long userId, long id);
 
     List<BookingDtoOutput> getAllByUser(long userId, State state, int from, int size);
 
     List<BookingDtoOutput> getAllByOwner(long ownerId, State state, int from, int size);
+
+    void exportByOwner(long ownerId, ExportFormat format, OutputStream out) throws IOException;
+
+    SseEmitter subscribe(long userId);
+
+    int expireWaitingBookings(List<Long> ids);
 }
@@ -1,29 +1,52 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.ExportFormat;
 import ru.practicum.shareit.booking.State;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.dto.BookingEvent;
+import ru.practicum.shareit.booking.dto.BookingExportRow;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.ItemLockManager;
+import ru.practicum.shareit.common.RetryOnConflict;
+import ru.practicum.shareit.cache.CacheInvalidationBus;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.comments.CompletedRentalCache;
+import ru.practicum.shareit.item.dashboard.OwnerDashboardProjector;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.sse.EventStream;
+import ru.practicum.shareit.sse.EventStreamHub;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
@@ -31,8 +54,21 @@ public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final ItemLockManager itemLockManager;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final BookingExportWriter bookingExportWriter;
+    private final CompletedRentalCache completedRentalCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final OutboxWriter outboxWriter;
+    private final OwnerDashboardProjector ownerDashboardProjector;
+    private final EventStreamHub eventStreamHub;
+
+    @Value("${shareit.booking.bulk.max-size:100}")
+    private int bulkMaxSize;
 
     @Override
+    @Transactional
+    @RetryOnConflict
     public BookingDtoOutput create(long userId, BookingDtoInput bookingDto) {
         if (!bookingDto.getStart().isBefore(bookingDto.getEnd())) {
             throw new TimeException("Item is not availibal in this time");
@@ -41,6 +77,7 @@ public class BookingServiceImpl implements BookingService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() ->
                         new NotFoundException("User with id = " + userId + " is not found"));
+        itemLockManager.lockItem(bookingDto.getItemId());
         Item item = itemRepository.findById(bookingDto.getItemId())
                 .orElseThrow(() ->
                         new NotFoundException("Item with id = " + bookingDto.getItemId() + " is not found"));
@@ -52,24 +89,39 @@ public class BookingServiceImpl implements BookingService {
         if (!item.getAvailable()) {
             throw new AvailabilityException("Item is is not available");
         }
+        if (bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(item.getId(), Status.APPROVED,
+                booking.getEnd(), booking.getStart())) {
+            throw new ConflictException("Item is already booked for this time");
+        }
 
         booking.setStatus(Status.WAITING);
 
         Booking newBooking = bookingRepository.save(booking);
+        completedRentalCache.onRental(userId, item.getId(), newBooking.getEnd());
+        recordEvent(OutboxEventType.BOOKING_CREATED, newBooking, null);
         return bookingMapper.toOutputDto(newBooking);
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
     public BookingDtoOutput updateStatusOfBooking(long sharerId, long id, boolean approved) {
+        long itemId = bookingRepository.findItemIdById(id).orElseThrow(() ->
+                new NotFoundException("Booking with this id is not found")
+        );
+        itemLockManager.lockItem(itemId);
         Booking booking = bookingRepository.findById(id).orElseThrow(() ->
                 new NotFoundException("Booking with this id is not found")
         );
         userRepository.findById(sharerId)
                 .orElseThrow(() ->
                         new NotFoundException("User with id = " + sharerId + " is not found"));
+        Item item = itemRepository.findAndIncrementVersionById(itemId)
+                .orElseThrow(() ->
+                        new NotFoundException("Item with id = " + itemId + " is not found"));
+        cacheInvalidationBus.invalidate(CacheRegion.ITEMS, itemId);
 
-        if (booking.getItem().getOwner().getId() != sharerId) {
+        if (item.getOwner().getId() != sharerId) {
             throw new AccessException("Not owner of this item");
         }
 
@@ -82,10 +134,72 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus() == status) {
             throw new IllegalArgumentException("new status is equals old status");
         }
+        if (booking.getStatus() == Status.EXPIRED) {
+            throw new ConflictException("Booking has expired");
+        }
+        if (approved && bookingRepository.existsByItem_IdAndIdNotAndStatusAndStartBeforeAndEndAfter(item.getId(),
+                booking.getId(), Status.APPROVED, booking.getEnd(), booking.getStart())) {
+            throw new ConflictException("Item is already booked for this time");
+        }
+        Status previous = booking.getStatus();
         booking.setStatus(status);
 
         bookingRepository.save(booking);
-        return bookingMapper.toOutputDto(booking);
+        updateAvailability(booking, previous);
+        ownerDashboardProjector.onBookingStatusChanged(booking, previous);
+        recordEvent(OutboxEventType.BOOKING_STATUS_CHANGED, booking, previous);
+        BookingDtoOutput output = bookingMapper.toOutputDto(booking);
+        publishStatusChange(booking, output);
+        return output;
+    }
+
+    @Override
+    @Transactional
+    @RetryOnConflict
+    public List<BookingDecisionResult> updateStatusesOfBookings(long ownerId, List<BookingDecisionDto> decisions) {
+        if (decisions.isEmpty()) {
+            throw new ValidateException("decisions are empty");
+        }
+        if (decisions.size() > bulkMaxSize) {
+            throw new ValidateException("no more than " + bulkMaxSize + " decisions are allowed");
+        }
+        userRepository.findById(ownerId)
+                .orElseThrow(() ->
+                        new NotFoundException("User with id = " + ownerId + " is not found"));
+
+        Set<Long> ids = decisions.stream()
+                .map(BookingDecisionDto::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = ids.isEmpty() ? Map.of() : bookingRepository
+                .findAllByIdInAndItemOwnerId(ids, ownerId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Map<Long, List<Booking>> approvedByItem = new HashMap<>();
+        if (!bookings.isEmpty()) {
+            SortedSet<Long> itemIds = bookings.values().stream()
+                    .map(booking -> booking.getItem().getId())
+                    .collect(Collectors.toCollection(TreeSet::new));
+            itemLockManager.lockItems(itemIds);
+            itemRepository.findAndIncrementVersionByIdIn(itemIds);
+            itemIds.forEach(itemId -> cacheInvalidationBus.invalidate(CacheRegion.ITEMS, itemId));
+
+            LocalDateTime earliestStart = bookings.values().stream()
+                    .map(Booking::getStart)
+                    .min(Comparator.naturalOrder())
+                    .orElseThrow();
+            bookingRepository.findByItem_IdInAndStatusAndEndAfter(itemIds, Status.APPROVED, earliestStart)
+                    .forEach(booking -> approvedByItem
+                            .computeIfAbsent(booking.getItem().getId(), itemId -> new ArrayList<>())
+                            .add(booking));
+        }
+
+        Set<Long> decided = new HashSet<>();
+        List<BookingDecisionResult> results = new ArrayList<>(decisions.size());
+        for (BookingDecisionDto decision : decisions) {
+            results.add(decide(decision, bookings, approvedByItem, decided));
+        }
+        return results;
     }
 
     @Override
@@ -134,6 +248,104 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void exportByOwner(long ownerId, ExportFormat format, OutputStream out) throws IOException {
+        if (!userRepository.existsById(ownerId)) {
+            throw new NotFoundException("User with this id is not found");
+        }
+        try (Stream<BookingExportRow> rows = bookingRepository.streamExportRowsByOwnerId(ownerId)) {
+            bookingExportWriter.write(rows, format, out);
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User with this id is not found");
+        }
+        return eventStreamHub.subscribe(EventStream.BOOKINGS, userId);
+    }
+
+    private BookingDecisionResult decide(BookingDecisionDto decision, Map<Long, Booking> bookings,
+                                         Map<Long, List<Booking>> approvedByItem, Set<Long> decided) {
+        Long id = decision.getBookingId();
+        if (id == null || decision.getApproved() == null) {
+            return new BookingDecisionResult(id, null, "bookingId and approved are required");
+        }
+        if (!decided.add(id)) {
+            return new BookingDecisionResult(id, null, "Duplicate decision for booking");
+        }
+        Booking booking = bookings.get(id);
+        if (booking == null) {
+            return new BookingDecisionResult(id, null, "Booking with this id is not found");
+        }
+
+        Status status = decision.getApproved() ? Status.APPROVED : Status.REJECTED;
+        if (booking.getStatus() == status) {
+            return new BookingDecisionResult(id, booking.getStatus(), "new status is equals old status");
+        }
+        if (booking.getStatus() == Status.EXPIRED) {
+            return new BookingDecisionResult(id, booking.getStatus(), "Booking has expired");
+        }
+        List<Booking> approved = approvedByItem.computeIfAbsent(booking.getItem().getId(),
+                itemId -> new ArrayList<>());
+        if (status == Status.APPROVED) {
+            boolean overlaps = approved.stream()
+                    .anyMatch(other -> other != booking && other.getStatus() == Status.APPROVED
+                            && other.getStart().isBefore(booking.getEnd())
+                            && other.getEnd().isAfter(booking.getStart()));
+            if (overlaps) {
+                return new BookingDecisionResult(id, booking.getStatus(), "Item is already booked for this time");
+            }
+            approved.add(booking);
+        }
+        Status previous = booking.getStatus();
+        booking.setStatus(status);
+        updateAvailability(booking, previous);
+        ownerDashboardProjector.onBookingStatusChanged(booking, previous);
+        recordEvent(OutboxEventType.BOOKING_STATUS_CHANGED, booking, previous);
+        publishStatusChange(booking, bookingMapper.toOutputDto(booking));
+        return new BookingDecisionResult(id, status, null);
+    }
+
+    @Override
+    @Transactional
+    public int expireWaitingBookings(List<Long> ids) {
+        List<Long> expired = bookingRepository.findAndLockIdsByIdInAndStatus(ids, Status.WAITING);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.updateStatusByIdIn(expired, Status.WAITING, Status.EXPIRED);
+        for (Booking booking : bookingRepository.findWithBookerAndItemByIdIn(expired)) {
+            ownerDashboardProjector.onBookingStatusChanged(booking, Status.WAITING);
+            recordEvent(OutboxEventType.BOOKING_STATUS_CHANGED, booking, Status.WAITING);
+            publishStatusChange(booking, bookingMapper.toOutputDto(booking));
+        }
+        return expired.size();
+    }
+
+    private void publishStatusChange(Booking booking, BookingDtoOutput output) {
+        eventStreamHub.publish(EventStream.BOOKINGS,
+                List.of(booking.getBooker().getId(), booking.getItem().getOwner().getId()), output);
+    }
+
+    private void recordEvent(OutboxEventType type, Booking booking, Status previous) {
+        long itemId = booking.getItem().getId();
+        outboxWriter.record(type, booking.getId(), itemId, new BookingEvent(booking.getId(), itemId,
+                booking.getBooker().getId(), booking.getStatus(), previous, booking.getStart(), booking.getEnd()));
+    }
+
+    private void updateAvailability(Booking booking, Status previous) {
+        if (booking.getStatus() == Status.APPROVED) {
+            itemAvailabilityIndex.onApproved(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        } else if (previous == Status.APPROVED) {
+            itemAvailabilityIndex.evict(booking.getItem().getId());
+        } else {
+            return;
+        }
+        cacheInvalidationBus.invalidate(CacheRegion.AVAILABILITY, booking.getItem().getId());
+    }
+
     private List<Booking> sortByState(State state, long id, String person, int from, int size) {
         List<Booking> bookings;
         Sort sort = Sort.by(Sort.Direction.DESC, "start");
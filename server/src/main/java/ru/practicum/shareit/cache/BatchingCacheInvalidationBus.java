@@ -0,0 +1,99 @@
+package ru.practicum.shareit.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.common.TransactionCallbacks.afterCommit;
+
+@Slf4j
+public abstract class BatchingCacheInvalidationBus implements CacheInvalidationBus {
+
+    protected final String nodeId = UUID.randomUUID().toString();
+
+    private final long flushIntervalMs;
+    private final int maxIdsPerRegion;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Map<CacheRegion, Set<Long>> pendingIds = new EnumMap<>(CacheRegion.class);
+    private Set<CacheRegion> pendingCleared = EnumSet.noneOf(CacheRegion.class);
+
+    protected BatchingCacheInvalidationBus(long flushIntervalMs, int maxIdsPerRegion) {
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxIdsPerRegion = maxIdsPerRegion;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void invalidate(CacheRegion region, long id) {
+        afterCommit(() -> enqueue(region, id));
+    }
+
+    @Override
+    public void invalidateAll(CacheRegion region) {
+        afterCommit(() -> enqueueClear(region));
+    }
+
+    @Override
+    public void flush() {
+        CacheInvalidationBatch batch;
+        synchronized (this) {
+            if (pendingIds.isEmpty() && pendingCleared.isEmpty()) {
+                return;
+            }
+            batch = new CacheInvalidationBatch(nodeId, pendingIds, pendingCleared);
+            pendingIds = new EnumMap<>(CacheRegion.class);
+            pendingCleared = EnumSet.noneOf(CacheRegion.class);
+        }
+        send(batch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushQuietly();
+    }
+
+    protected abstract void send(CacheInvalidationBatch batch);
+
+    private synchronized void enqueue(CacheRegion region, long id) {
+        if (pendingCleared.contains(region)) {
+            return;
+        }
+        Set<Long> ids = pendingIds.computeIfAbsent(region, key -> new HashSet<>());
+        ids.add(id);
+        if (ids.size() > maxIdsPerRegion) {
+            enqueueClear(region);
+        }
+    }
+
+    private synchronized void enqueueClear(CacheRegion region) {
+        pendingIds.remove(region);
+        pendingCleared.add(region);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache invalidations", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationBatch {
+    private String origin;
+    private Map<CacheRegion, Set<Long>> ids = new EnumMap<>(CacheRegion.class);
+    private Set<CacheRegion> cleared = EnumSet.noneOf(CacheRegion.class);
+}
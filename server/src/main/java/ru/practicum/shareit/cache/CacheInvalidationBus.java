@@ -0,0 +1,10 @@
+package ru.practicum.shareit.cache;
+
+public interface CacheInvalidationBus {
+
+    void invalidate(CacheRegion region, long id);
+
+    void invalidateAll(CacheRegion region);
+
+    void flush();
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.comments.CompletedRentalCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class CacheInvalidationHandler {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final CompletedRentalCache completedRentalCache;
+
+    public void apply(CacheInvalidationBatch batch) {
+        log.debug("Applying cache invalidations {} {} {}", kv("origin", batch.getOrigin()),
+                kv("ids", batch.getIds()), kv("cleared", batch.getCleared()));
+        Cache entityCache = entityManagerFactory.getCache();
+        for (CacheRegion region : batch.getCleared()) {
+            clear(entityCache, region);
+        }
+        batch.getIds().forEach((region, ids) -> {
+            if (!batch.getCleared().contains(region)) {
+                ids.forEach(id -> evict(entityCache, region, id));
+            }
+        });
+    }
+
+    private void evict(Cache entityCache, CacheRegion region, long id) {
+        switch (region) {
+            case USERS:
+                entityCache.evict(User.class, id);
+                break;
+            case ITEMS:
+                entityCache.evict(Item.class, id);
+                itemAvailabilityIndex.evict(id);
+                completedRentalCache.evictItem(id);
+                break;
+            case REQUESTS:
+                entityCache.evict(ItemRequest.class, id);
+                break;
+            case AVAILABILITY:
+                itemAvailabilityIndex.evict(id);
+                break;
+        }
+    }
+
+    private void clear(Cache entityCache, CacheRegion region) {
+        switch (region) {
+            case USERS:
+                entityCache.evict(User.class);
+                break;
+            case ITEMS:
+                entityCache.evict(Item.class);
+                itemAvailabilityIndex.evictAll();
+                completedRentalCache.clear();
+                break;
+            case REQUESTS:
+                entityCache.evict(ItemRequest.class);
+                break;
+            case AVAILABILITY:
+                itemAvailabilityIndex.evictAll();
+                break;
+        }
+    }
+}
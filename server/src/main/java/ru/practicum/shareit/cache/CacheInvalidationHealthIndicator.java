@@ -0,0 +1,21 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.cache.invalidation.transport", havingValue = "postgres", matchIfMissing = true)
+public class CacheInvalidationHealthIndicator implements HealthIndicator {
+
+    private final PostgresCacheInvalidationBus bus;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = bus.isListening() ? Health.up() : Health.down();
+        return builder.withDetail("channel", PostgresCacheInvalidationBus.CHANNEL).build();
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.cache;
+
+public enum CacheRegion {
+    USERS,
+    ITEMS,
+    REQUESTS,
+    AVAILABILITY
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "shareit.cache.invalidation.transport", havingValue = "loopback")
+public class LoopbackCacheInvalidationBus extends BatchingCacheInvalidationBus {
+
+    private final CacheInvalidationHandler handler;
+
+    public LoopbackCacheInvalidationBus(CacheInvalidationHandler handler,
+                                        @Value("${shareit.cache.invalidation.flush-interval-ms:50}")
+                                        long flushIntervalMs,
+                                        @Value("${shareit.cache.invalidation.max-ids-per-region:100}")
+                                        int maxIdsPerRegion) {
+        super(flushIntervalMs, maxIdsPerRegion);
+        this.handler = handler;
+    }
+
+    @Override
+    protected void send(CacheInvalidationBatch batch) {
+        handler.apply(batch);
+    }
+}
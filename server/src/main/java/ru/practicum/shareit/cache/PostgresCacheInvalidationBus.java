@@ -0,0 +1,114 @@
+package ru.practicum.shareit.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.PostgresNotificationListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.cache.invalidation.transport", havingValue = "postgres", matchIfMissing = true)
+public class PostgresCacheInvalidationBus extends BatchingCacheInvalidationBus {
+
+    static final String CHANNEL = "shareit_cache_invalidation";
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationHandler handler;
+    private final PostgresNotificationListener listener;
+
+    public PostgresCacheInvalidationBus(DataSource dataSource,
+                                        DataSourceProperties dataSourceProperties,
+                                        ObjectMapper objectMapper,
+                                        CacheInvalidationHandler handler,
+                                        @Value("${shareit.cache.invalidation.flush-interval-ms:50}")
+                                        long flushIntervalMs,
+                                        @Value("${shareit.cache.invalidation.max-ids-per-region:100}")
+                                        int maxIdsPerRegion,
+                                        @Value("${shareit.cache.invalidation.poll-timeout-ms:500}")
+                                        int pollTimeoutMs,
+                                        @Value("${shareit.cache.invalidation.reconnect-delay-ms:5000}")
+                                        long reconnectDelayMs) {
+        super(flushIntervalMs, maxIdsPerRegion);
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.handler = handler;
+        this.listener = new PostgresNotificationListener("cache-invalidation-listener", dataSourceProperties,
+                CHANNEL, pollTimeoutMs, reconnectDelayMs, this::clearAll, this::receive);
+    }
+
+    @PostConstruct
+    public void startListening() {
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        listener.stop();
+    }
+
+    @Override
+    protected void send(CacheInvalidationBatch batch) {
+        String payload = serialize(batch);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            EnumSet<CacheRegion> cleared = EnumSet.noneOf(CacheRegion.class);
+            cleared.addAll(batch.getCleared());
+            cleared.addAll(batch.getIds().keySet());
+            payload = serialize(new CacheInvalidationBatch(nodeId, new EnumMap<>(CacheRegion.class), cleared));
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to notify " + CHANNEL, e);
+        }
+    }
+
+    public boolean isListening() {
+        return listener.isListening();
+    }
+
+    private void clearAll() {
+        log.info("Clearing local caches after subscribing to invalidations {}", kv("node", nodeId));
+        handler.apply(new CacheInvalidationBatch(null, new EnumMap<>(CacheRegion.class),
+                EnumSet.allOf(CacheRegion.class)));
+    }
+
+    private void receive(String payload) {
+        try {
+            CacheInvalidationBatch batch = objectMapper.readValue(payload, CacheInvalidationBatch.class);
+            if (!nodeId.equals(batch.getOrigin())) {
+                handler.apply(batch);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation {}", kv("payload", payload));
+        }
+    }
+
+    private String serialize(CacheInvalidationBatch batch) {
+        try {
+            return objectMapper.writeValueAsString(batch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cache invalidation", e);
+        }
+    }
+}
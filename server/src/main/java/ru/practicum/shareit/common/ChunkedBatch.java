@@ -0,0 +1,49 @@
+package ru.practicum.shareit.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+public final class ChunkedBatch {
+
+    private ChunkedBatch() {
+    }
+
+    public static <T> Stream<BatchResult> run(List<T> rows, int chunkSize,
+                                              BiFunction<Integer, List<T>, List<BatchResult>> importer) {
+        int size = Math.max(1, chunkSize);
+        return IntStream.iterate(0, offset -> offset < rows.size(), offset -> offset + size)
+                .boxed()
+                .flatMap(offset -> {
+                    List<T> chunk = rows.subList(offset, Math.min(rows.size(), offset + size));
+                    try {
+                        return importer.apply(offset, chunk).stream();
+                    } catch (DataAccessException e) {
+                        log.warn("Batch chunk rolled back, retrying row by row {} {} {}", kv("offset", offset),
+                                kv("rows", chunk.size()), kv("error", e.getMostSpecificCause().getMessage()));
+                        return IntStream.range(0, chunk.size())
+                                .mapToObj(i -> importRow(offset + i, chunk.get(i), importer))
+                                .collect(Collectors.toList())
+                                .stream();
+                    }
+                });
+    }
+
+    private static <T> BatchResult importRow(int index, T row,
+                                             BiFunction<Integer, List<T>, List<BatchResult>> importer) {
+        try {
+            return importer.apply(index, Collections.singletonList(row)).get(0);
+        } catch (DataAccessException e) {
+            return new BatchResult(index, null, "Row rejected: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+}
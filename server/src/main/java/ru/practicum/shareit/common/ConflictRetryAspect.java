@@ -0,0 +1,56 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class ConflictRetryAspect {
+
+    private static final long MAX_BACKOFF_MS = 20;
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().toShortString();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (CannotAcquireLockException e) {
+                throw e;
+            } catch (ConcurrencyFailureException e) {
+                meterRegistry.counter("shareit.conflict.retries", "method", method).increment();
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    log.info("Giving up after concurrent modification {} {}", kv("method", method),
+                            kv("attempts", attempt));
+                    throw new ConflictException("Resource was modified concurrently, try again");
+                }
+                log.debug("Retrying after concurrent modification {} {} {}", kv("method", method),
+                        kv("attempt", attempt), kv("cause", e.getClass().getSimpleName()));
+                Thread.sleep(ThreadLocalRandom.current().nextLong(MAX_BACKOFF_MS * attempt));
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ItemLockManager {
+
+    private static final long ADVISORY_MAX_BACKOFF_MS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantLock[] stripes;
+    private final Timer[] waitTimers;
+    private final Timer advisoryWaitTimer;
+    private final boolean advisoryEnabled;
+    private final long timeoutMs;
+    private volatile Boolean advisorySupported;
+
+    public ItemLockManager(JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${shareit.locking.stripes:64}") int stripeCount,
+                           @Value("${shareit.locking.advisory:false}") boolean advisoryEnabled,
+                           @Value("${shareit.locking.timeout-ms:5000}") long timeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.advisoryEnabled = advisoryEnabled;
+        this.timeoutMs = timeoutMs;
+        this.stripes = new ReentrantLock[stripeCount];
+        this.waitTimers = new Timer[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+            waitTimers[i] = waitTimer(meterRegistry, String.valueOf(i));
+        }
+        this.advisoryWaitTimer = waitTimer(meterRegistry, "advisory");
+    }
+
+    public void lockItem(long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item lock requires an active transaction");
+        }
+        if (useAdvisoryLock()) {
+            lockAdvisory(itemId);
+            return;
+        }
+        lockStripe(stripeOf(itemId), "item " + itemId);
+    }
+
+    public void lockItems(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item lock requires an active transaction");
+        }
+        if (useAdvisoryLock()) {
+            new TreeSet<>(itemIds).forEach(this::lockAdvisory);
+            return;
+        }
+        itemIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .forEach(stripe -> lockStripe(stripe, "stripe " + stripe));
+    }
+
+    private void lockStripe(int stripe, String target) {
+        ReentrantLock lock = stripes[stripe];
+        long start = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for " + target);
+        } finally {
+            waitTimers[stripe].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!locked) {
+            throw new CannotAcquireLockException("Timed out waiting for " + target);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void lockAdvisory(long itemId) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        long backoffMs = 1;
+        try {
+            while (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)",
+                    Boolean.class, itemId))) {
+                if (System.nanoTime() >= deadline) {
+                    throw new CannotAcquireLockException("Timed out waiting for item " + itemId);
+                }
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, ADVISORY_MAX_BACKOFF_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for item " + itemId);
+        } finally {
+            advisoryWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    int stripeOf(long itemId) {
+        return Math.floorMod(Long.hashCode(itemId * 0x9E3779B97F4A7C15L), stripes.length);
+    }
+
+    private boolean useAdvisoryLock() {
+        if (!advisoryEnabled) {
+            return false;
+        }
+        if (advisorySupported == null) {
+            advisorySupported = jdbcTemplate.execute((Connection connection) ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return advisorySupported;
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String stripe) {
+        return Timer.builder("shareit.lock.wait")
+                .tag("stripe", stripe)
+                .register(meterRegistry);
+    }
+}
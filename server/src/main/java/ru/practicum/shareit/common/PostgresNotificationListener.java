@@ -0,0 +1,107 @@
+package ru.practicum.shareit.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+public class PostgresNotificationListener {
+
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private final Runnable onConnect;
+    private final Consumer<String> onNotification;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean listening;
+
+    public PostgresNotificationListener(String threadName,
+                                        DataSourceProperties dataSourceProperties,
+                                        String channel,
+                                        int pollTimeoutMs,
+                                        long reconnectDelayMs,
+                                        Runnable onConnect,
+                                        Consumer<String> onNotification) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.onConnect = onConnect;
+        this.onNotification = onNotification;
+        this.thread = new Thread(this::listen, threadName);
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    public boolean isListening() {
+        return listening && thread.isAlive();
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for notifications {}", kv("channel", channel));
+                onConnect.run();
+                listening = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Notification listener lost its connection, reconnecting {}", kv("channel", channel), e);
+                }
+            } finally {
+                listening = false;
+            }
+            if (running) {
+                pause();
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            onNotification.accept(payload);
+        } catch (RuntimeException e) {
+            log.error("Failed to handle notification {} {}", kv("channel", channel), kv("payload", payload), e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
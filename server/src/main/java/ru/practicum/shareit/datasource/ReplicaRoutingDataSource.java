@@ -0,0 +1,72 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica-";
+
+    private final List<DataSource> pools = new ArrayList<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker) {
+        super(new Router(primary, replicas, tracker));
+        pools.add(primary);
+        pools.addAll(replicas);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource pool : pools) {
+            if (pool instanceof Closeable) {
+                ((Closeable) pool).close();
+            }
+        }
+    }
+
+    private static class Router extends AbstractRoutingDataSource {
+
+        private final int replicaCount;
+        private final ReadYourWritesTracker tracker;
+        private final AtomicInteger next = new AtomicInteger();
+
+        Router(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker) {
+            this.replicaCount = replicas.size();
+            this.tracker = tracker;
+            Map<Object, Object> targets = new HashMap<>();
+            targets.put(PRIMARY, primary);
+            for (int i = 0; i < replicas.size(); i++) {
+                targets.put(REPLICA + i, replicas.get(i));
+            }
+            setTargetDataSources(targets);
+            setDefaultTargetDataSource(primary);
+            afterPropertiesSet();
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            Long sharerId = SharerContext.get();
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                if (sharerId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                    tracker.recordWrite(sharerId);
+                }
+                return PRIMARY;
+            }
+            if (replicaCount == 0 || (sharerId != null && tracker.hasRecentWrite(sharerId))) {
+                return PRIMARY;
+            }
+            return REPLICA + Math.floorMod(next.getAndIncrement(), replicaCount);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.datasource;
+
+public final class SharerContext {
+
+    private static final ThreadLocal<Long> SHARER_ID = new ThreadLocal<>();
+
+    private SharerContext() {
+    }
+
+    public static void set(Long sharerId) {
+        SHARER_ID.set(sharerId);
+    }
+
+    public static Long get() {
+        return SHARER_ID.get();
+    }
+
+    public static void clear() {
+        SHARER_ID.remove();
+    }
+}
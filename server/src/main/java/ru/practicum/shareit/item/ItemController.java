@@ -1,8 +1,15 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.CursorPage;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.item.dashboard.ItemDashboardDto;
+import ru.practicum.shareit.item.dashboard.OwnerDashboardService;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingAndComments;
 import ru.practicum.shareit.item.dto.ItemDtoInput;
@@ -11,6 +18,8 @@ import ru.practicum.shareit.item.service.ItemService;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,6 +27,7 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final OwnerDashboardService ownerDashboardService;
 
     @GetMapping
     public List<ItemDtoBookingAndComments> getAllBy(@RequestHeader("X-Sharer-User-Id") long sharerId,
@@ -26,18 +36,57 @@ public class ItemController {
         return itemService.getAll(sharerId, from, size);
     }
 
+    @GetMapping("/dashboard")
+    public List<ItemDashboardDto> getDashboard(@RequestHeader("X-Sharer-User-Id") long sharerId,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                               @RequestParam(defaultValue = "100") @Positive int size) {
+        return ownerDashboardService.getDashboard(sharerId, from, size);
+    }
+
     @GetMapping("/{itemId}")
     public ItemDtoBookingAndComments getById(@RequestHeader("X-Sharer-User-Id") long sharerId,
                                                  @PathVariable long itemId) {
         return itemService.getById(sharerId, itemId);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable long itemId,
+                                                        @RequestParam(required = false) Long cursor,
+                                                        @RequestParam(defaultValue = "20") @Positive int size) {
+        CursorPage<CommentDto> page = itemService.getComments(itemId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable long itemId,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from == null ? LocalDate.now() : from;
+        LocalDate end = to == null ? start.plusYears(1).minusDays(1) : to;
+        return itemService.getAvailability(itemId, start, end);
+    }
+
     @GetMapping("/search")
     public List<ItemDto> getByText(@RequestParam String text,
+                                   @RequestParam(required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                   @RequestParam(required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                    @RequestParam(defaultValue = "0") @PositiveOrZero int from,
                                    @RequestParam(defaultValue = "100") @Positive int size) {
+        if ((start == null) != (end == null)) {
+            throw new ValidateException("start and end must be given together");
+        }
         if (text.isBlank()) {
             return List.of();
+        } else if (start != null) {
+            return itemService.getAvailableByText(text, start, end, from, size);
         } else {
             return itemService.getByText(text, from, size);
         }
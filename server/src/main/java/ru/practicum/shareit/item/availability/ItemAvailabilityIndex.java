@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.datasource.SharerContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static ru.practicum.shareit.common.TransactionCallbacks.afterCommit;
+
+@Slf4j
+@Component
+public class ItemAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final long ttlNanos;
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemAvailabilityIndex(BookingRepository bookingRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${shareit.availability.ttl-ms:300000}") long ttlMs) {
+        this.bookingRepository = bookingRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryTransaction.setReadOnly(false);
+        this.ttlNanos = ttlMs * 1_000_000;
+    }
+
+    public List<LocalDate> getBookedDays(long itemId, LocalDate from, LocalDate to) {
+        RoaringBitmap days = entryOf(itemId).days;
+        int last = (int) to.toEpochDay();
+        List<LocalDate> booked = new ArrayList<>();
+        PeekableIntIterator iterator = days.getIntIterator();
+        iterator.advanceIfNeeded((int) from.toEpochDay());
+        while (iterator.hasNext()) {
+            int day = iterator.next();
+            if (day > last) {
+                break;
+            }
+            booked.add(LocalDate.ofEpochDay(day));
+        }
+        return booked;
+    }
+
+    public void onApproved(long itemId, LocalDateTime start, LocalDateTime end) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.computeIfPresent(itemId, (id, entry) -> entry.with(start, end));
+        });
+    }
+
+    public void evict(long itemId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.remove(itemId);
+        });
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            entries.clear();
+        });
+    }
+
+    private Entry entryOf(long itemId) {
+        Entry entry = entries.get(itemId);
+        if (entry != null) {
+            if (System.nanoTime() - entry.loadedAt <= ttlNanos) {
+                return entry;
+            }
+            entries.remove(itemId, entry);
+        }
+        long loadedGeneration = generation.get();
+        Entry loaded = loadFromPrimary(itemId);
+        if (generation.get() != loadedGeneration) {
+            return loaded;
+        }
+        Entry existing = entries.putIfAbsent(itemId, loaded);
+        return existing == null ? loaded : existing;
+    }
+
+    private Entry loadFromPrimary(long itemId) {
+        Long sharerId = SharerContext.get();
+        SharerContext.clear();
+        try {
+            return primaryTransaction.execute(status -> load(itemId));
+        } finally {
+            if (sharerId != null) {
+                SharerContext.set(sharerId);
+            }
+        }
+    }
+
+    private Entry load(long itemId) {
+        Entry entry = new Entry(new RoaringBitmap(), System.nanoTime());
+        for (Booking booking : bookingRepository.findBookingsByItem_IdAndStatus(itemId, Status.APPROVED)) {
+            addDays(entry.days, booking.getStart(), booking.getEnd());
+        }
+        entry.days.runOptimize();
+        log.debug("Loaded availability of item", kv("itemId", itemId),
+                kv("bookedDays", entry.days.getCardinality()));
+        return entry;
+    }
+
+    private static void addDays(RoaringBitmap days, LocalDateTime start, LocalDateTime end) {
+        long first = start.toLocalDate().toEpochDay();
+        long last = end.minusNanos(1).toLocalDate().toEpochDay();
+        if (first <= last) {
+            days.add(first, last + 1);
+        }
+    }
+
+    private static final class Entry {
+        private final RoaringBitmap days;
+        private final long loadedAt;
+
+        private Entry(RoaringBitmap days, long loadedAt) {
+            this.days = days;
+            this.loadedAt = loadedAt;
+        }
+
+        private Entry with(LocalDateTime start, LocalDateTime end) {
+            RoaringBitmap copy = days.clone();
+            addDays(copy, start, end);
+            copy.runOptimize();
+            return new Entry(copy, loadedAt);
+        }
+    }
+}
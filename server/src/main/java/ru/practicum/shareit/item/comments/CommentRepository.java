@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item.comments;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -9,4 +13,23 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByItem_Id(long itemId);
 
     List<Comment> findByItem_IdIn(Set<Long> itemsId);
+
+    @Query("select c from Comment as c join fetch c.author where c.item.id = ?1 and c.id < ?2 order by c.id desc")
+    List<Comment> findPageByItemId(long itemId, long beforeId, Pageable pageable);
+
+    @Query(value = "select latest.id from (select c.id as id, " +
+            "row_number() over (partition by c.item_id order by c.id desc) as rn " +
+            "from comments as c where c.item_id in ?1) as latest where latest.rn <= ?2", nativeQuery = true)
+    List<Number> findLatestIdsByItemIds(Collection<Long> itemIds, int limit);
+
+    @Query("select c from Comment as c join fetch c.author where c.id in ?1 order by c.id desc")
+    List<Comment> findWithAuthorByIdIn(Collection<Long> ids);
+
+    @Query("select distinct c.item.id from Comment as c where c.author.id = ?1 and c.item.owner.id <> ?1")
+    List<Long> findCommentedItemIds(long authorId);
+
+    @Modifying
+    @Query("delete from Comment as c where c.author.id = ?1 " +
+            "or c.item.id in (select i.id from Item as i where i.owner.id = ?1)")
+    int deleteByAuthorOrItemOwner(long userId);
 }
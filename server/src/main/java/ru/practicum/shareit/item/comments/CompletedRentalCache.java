@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.comments;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.common.TransactionCallbacks.afterCommit;
+
+@Component
+public class CompletedRentalCache {
+
+    private final boolean enabled;
+    private final Cache<RentalKey, LocalDateTime> firstEnds;
+
+    public CompletedRentalCache(@Value("${shareit.comments.rental-cache.enabled:true}") boolean enabled,
+                                @Value("${shareit.comments.rental-cache.max-size:100000}") long maxSize) {
+        this.enabled = enabled;
+        this.firstEnds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public boolean hasCompleted(long bookerId, long itemId, LocalDateTime now) {
+        if (!enabled) {
+            return false;
+        }
+        LocalDateTime end = firstEnds.getIfPresent(new RentalKey(bookerId, itemId));
+        return end != null && end.isBefore(now);
+    }
+
+    public void onRental(long bookerId, long itemId, LocalDateTime end) {
+        if (enabled) {
+            afterCommit(() -> firstEnds.asMap().merge(new RentalKey(bookerId, itemId), end,
+                    (current, candidate) -> candidate.isBefore(current) ? candidate : current));
+        }
+    }
+
+    public void evictItem(long itemId) {
+        if (enabled) {
+            afterCommit(() -> firstEnds.asMap().keySet().removeIf(key -> key.itemId == itemId));
+        }
+    }
+
+    public void clear() {
+        if (enabled) {
+            afterCommit(firstEnds::invalidateAll);
+        }
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class RentalKey {
+        private final long bookerId;
+        private final long itemId;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.BookingIdAndBookerId;
+import ru.practicum.shareit.item.comments.CommentDto;
+
+@Data
+@AllArgsConstructor
+public class ItemDashboardDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Boolean available;
+    private BookingIdAndBookerId lastBooking;
+    private BookingIdAndBookerId nextBooking;
+    private long commentsCount;
+    private CommentDto lastComment;
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.comments.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class OwnerDashboardProjector {
+
+    private final OwnerDashboardRepository ownerDashboardRepository;
+    private final BookingRepository bookingRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onItemSaved(Item item) {
+        OwnerDashboardRow row = ownerDashboardRepository.findById(item.getId())
+                .orElseGet(() -> {
+                    OwnerDashboardRow created = new OwnerDashboardRow();
+                    created.setItemId(item.getId());
+                    return created;
+                });
+        row.setOwnerId(item.getOwner().getId());
+        row.setItemName(item.getName());
+        row.setItemDescription(item.getDescription());
+        row.setItemAvailable(item.getAvailable());
+        ownerDashboardRepository.save(row);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onItemDeleted(long itemId) {
+        if (ownerDashboardRepository.existsById(itemId)) {
+            ownerDashboardRepository.deleteById(itemId);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAllItemsDeleted() {
+        ownerDashboardRepository.deleteAllInBatch();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOwnerDeleted(long ownerId) {
+        ownerDashboardRepository.deleteByOwnerId(ownerId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onBookerDeleted(long bookerId) {
+        ownerDashboardRepository.scheduleRefreshForBooker(bookerId, LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCommentsDeleted(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            ownerDashboardRepository.recountComments(itemIds);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onBookingStatusChanged(Booking booking, Status previous) {
+        Optional<OwnerDashboardRow> found = ownerDashboardRepository.findById(booking.getItem().getId());
+        if (found.isEmpty()) {
+            return;
+        }
+        OwnerDashboardRow row = found.get();
+        LocalDateTime now = LocalDateTime.now();
+        if (booking.getStatus() == Status.APPROVED) {
+            if (isStale(row, now)) {
+                refreshBookings(row, now);
+            } else {
+                applyApproved(row, booking, now);
+            }
+        } else if (previous == Status.APPROVED) {
+            refreshBookings(row, now);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCommentCreated(Comment comment) {
+        long itemId = comment.getItem().getId();
+        ownerDashboardRepository.incrementCommentsCount(itemId);
+        ownerDashboardRepository.updateLastComment(itemId, comment.getId(), comment.getText(),
+                comment.getAuthor().getName(), comment.getCreated());
+    }
+
+    public boolean isStale(OwnerDashboardRow row, LocalDateTime now) {
+        return row.getRefreshAt() != null && !row.getRefreshAt().isAfter(now);
+    }
+
+    public Optional<Booking> findLastBooking(long itemId, LocalDateTime now) {
+        return bookingRepository
+                .findFirstByItem_IdAndStatusAndStartLessThanEqualOrderByEndDesc(itemId, Status.APPROVED, now);
+    }
+
+    public Optional<Booking> findNextBooking(long itemId, LocalDateTime now) {
+        return bookingRepository.findFirstByItem_IdAndStatusAndStartAfterOrderByEndAsc(itemId, Status.APPROVED, now);
+    }
+
+    public void refreshBookings(OwnerDashboardRow row, LocalDateTime now) {
+        long itemId = row.getItemId();
+        Optional<Booking> last = findLastBooking(itemId, now);
+        row.setLastBookingId(last.map(Booking::getId).orElse(null));
+        row.setLastBookingBookerId(last.map(booking -> booking.getBooker().getId()).orElse(null));
+        row.setLastBookingEnd(last.map(Booking::getEnd).orElse(null));
+        Optional<Booking> next = findNextBooking(itemId, now);
+        row.setNextBookingId(next.map(Booking::getId).orElse(null));
+        row.setNextBookingBookerId(next.map(booking -> booking.getBooker().getId()).orElse(null));
+        row.setNextBookingEnd(next.map(Booking::getEnd).orElse(null));
+        row.setRefreshAt(bookingRepository
+                .findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(itemId, Status.APPROVED, now)
+                .map(Booking::getStart)
+                .orElse(null));
+    }
+
+    private void applyApproved(OwnerDashboardRow row, Booking booking, LocalDateTime now) {
+        if (!booking.getStart().isAfter(now)) {
+            if (row.getLastBookingEnd() == null || booking.getEnd().isAfter(row.getLastBookingEnd())) {
+                row.setLastBookingId(booking.getId());
+                row.setLastBookingBookerId(booking.getBooker().getId());
+                row.setLastBookingEnd(booking.getEnd());
+            }
+            return;
+        }
+        if (row.getNextBookingEnd() == null || booking.getEnd().isBefore(row.getNextBookingEnd())) {
+            row.setNextBookingId(booking.getId());
+            row.setNextBookingBookerId(booking.getBooker().getId());
+            row.setNextBookingEnd(booking.getEnd());
+        }
+        if (row.getRefreshAt() == null || booking.getStart().isBefore(row.getRefreshAt())) {
+            row.setRefreshAt(booking.getStart());
+        }
+    }
+}
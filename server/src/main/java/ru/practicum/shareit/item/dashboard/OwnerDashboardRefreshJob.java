@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.dashboard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.common.ItemLockManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+public class OwnerDashboardRefreshJob {
+
+    private final OwnerDashboardRepository ownerDashboardRepository;
+    private final OwnerDashboardProjector ownerDashboardProjector;
+    private final ItemLockManager itemLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OwnerDashboardRefreshJob(OwnerDashboardRepository ownerDashboardRepository,
+                                    OwnerDashboardProjector ownerDashboardProjector,
+                                    ItemLockManager itemLockManager,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${shareit.dashboard.refresh.batch-size:500}") int batchSize) {
+        this.ownerDashboardRepository = ownerDashboardRepository;
+        this.ownerDashboardProjector = ownerDashboardProjector;
+        this.itemLockManager = itemLockManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.dashboard.refresh.interval-ms:60000}")
+    public void refreshStartedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = transactionTemplate.execute(status -> ownerDashboardRepository
+                .findByRefreshAtLessThanEqualOrderByItemId(now, PageRequest.of(0, batchSize)).stream()
+                .map(OwnerDashboardRow::getItemId)
+                .collect(Collectors.toList()));
+        int refreshed = 0;
+        for (long itemId : itemIds) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> refresh(itemId, now)))) {
+                    refreshed++;
+                }
+            } catch (DataAccessException e) {
+                log.warn("Skipped owner dashboard row {} {}", kv("itemId", itemId), kv("error", e.getMessage()));
+            }
+        }
+        if (refreshed > 0) {
+            log.info("Refreshed owner dashboard rows {}", kv("count", refreshed));
+        }
+    }
+
+    private boolean refresh(long itemId, LocalDateTime now) {
+        itemLockManager.lockItem(itemId);
+        return ownerDashboardRepository.findById(itemId)
+                .filter(row -> ownerDashboardProjector.isStale(row, now))
+                .map(row -> {
+                    ownerDashboardProjector.refreshBookings(row, now);
+                    return true;
+                })
+                .orElse(false);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.dashboard;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OwnerDashboardRepository extends JpaRepository<OwnerDashboardRow, Long> {
+
+    List<OwnerDashboardRow> findByOwnerIdOrderByItemId(long ownerId, Pageable pageable);
+
+    List<OwnerDashboardRow> findByRefreshAtLessThanEqualOrderByItemId(LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("update OwnerDashboardRow as d set d.commentsCount = d.commentsCount + 1 where d.itemId = ?1")
+    int incrementCommentsCount(long itemId);
+
+    @Modifying
+    @Query("update OwnerDashboardRow as d set d.lastCommentId = ?2, d.lastCommentText = ?3, " +
+            "d.lastCommentAuthorName = ?4, d.lastCommentCreated = ?5 " +
+            "where d.itemId = ?1 and (d.lastCommentId is null or d.lastCommentId < ?2)")
+    int updateLastComment(long itemId, long commentId, String text, String authorName, LocalDateTime created);
+
+    @Modifying
+    @Query("delete from OwnerDashboardRow as d where d.ownerId = ?1")
+    int deleteByOwnerId(long ownerId);
+
+    @Modifying
+    @Query("update OwnerDashboardRow as d set d.refreshAt = ?2 " +
+            "where d.lastBookingBookerId = ?1 or d.nextBookingBookerId = ?1")
+    int scheduleRefreshForBooker(long bookerId, LocalDateTime refreshAt);
+
+    @Modifying
+    @Query(value = "update owner_dashboard set " +
+            "comments_count = (select count(*) from comments as c where c.item_id = owner_dashboard.item_id), " +
+            "last_comment_id = (select max(c.id) from comments as c where c.item_id = owner_dashboard.item_id), " +
+            "last_comment_text = (select c.text from comments as c where c.id = " +
+            "(select max(l.id) from comments as l where l.item_id = owner_dashboard.item_id)), " +
+            "last_comment_author_name = (select u.name from comments as c join users as u on u.id = c.author_id " +
+            "where c.id = (select max(l.id) from comments as l where l.item_id = owner_dashboard.item_id)), " +
+            "last_comment_created = (select c.created from comments as c where c.id = " +
+            "(select max(l.id) from comments as l where l.item_id = owner_dashboard.item_id)) " +
+            "where item_id in ?1", nativeQuery = true)
+    int recountComments(Collection<Long> itemIds);
+}
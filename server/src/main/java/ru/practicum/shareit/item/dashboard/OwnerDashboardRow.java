@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "owner_dashboard")
+@DynamicUpdate
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OwnerDashboardRow {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(name = "owner_id")
+    private Long ownerId;
+    @Column(name = "item_name")
+    private String itemName;
+    @Column(name = "item_description")
+    private String itemDescription;
+    @Column(name = "item_available")
+    private Boolean itemAvailable;
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+    @Column(name = "last_booking_booker_id")
+    private Long lastBookingBookerId;
+    @Column(name = "last_booking_end")
+    private LocalDateTime lastBookingEnd;
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+    @Column(name = "next_booking_booker_id")
+    private Long nextBookingBookerId;
+    @Column(name = "next_booking_end")
+    private LocalDateTime nextBookingEnd;
+    @Column(name = "refresh_at")
+    private LocalDateTime refreshAt;
+    @Column(name = "comments_count", insertable = false, updatable = false)
+    private long commentsCount;
+    @Column(name = "last_comment_id", insertable = false, updatable = false)
+    private Long lastCommentId;
+    @Column(name = "last_comment_text", insertable = false, updatable = false)
+    private String lastCommentText;
+    @Column(name = "last_comment_author_name", insertable = false, updatable = false)
+    private String lastCommentAuthorName;
+    @Column(name = "last_comment_created", insertable = false, updatable = false)
+    private LocalDateTime lastCommentCreated;
+}
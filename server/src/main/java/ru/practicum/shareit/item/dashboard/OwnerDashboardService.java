@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.dashboard;
+
+import java.util.List;
+
+public interface OwnerDashboardService {
+
+    List<ItemDashboardDto> getDashboard(long ownerId, int from, int size);
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingIdAndBookerId;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class OwnerDashboardServiceImpl implements OwnerDashboardService {
+
+    private final OwnerDashboardRepository ownerDashboardRepository;
+    private final OwnerDashboardProjector ownerDashboardProjector;
+    private final UserRepository userRepository;
+
+    @Override
+    public List<ItemDashboardDto> getDashboard(long ownerId, int from, int size) {
+        log.debug("Request GET to /items/dashboard {} {} {}", kv("ownerId", ownerId), kv("from", from), kv("size", size));
+        if (!userRepository.existsById(ownerId)) {
+            throw new NotFoundException("User with id = " + ownerId + " is not found");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return ownerDashboardRepository.findByOwnerIdOrderByItemId(ownerId, PageRequest.of(from / size, size))
+                .stream()
+                .map(row -> toDto(row, now))
+                .collect(toList());
+    }
+
+    private ItemDashboardDto toDto(OwnerDashboardRow row, LocalDateTime now) {
+        ItemDashboardDto dto = toDto(row);
+        if (ownerDashboardProjector.isStale(row, now)) {
+            dto.setLastBooking(ownerDashboardProjector.findLastBooking(row.getItemId(), now)
+                    .map(OwnerDashboardServiceImpl::toBookingIdAndBookerId)
+                    .orElse(null));
+            dto.setNextBooking(ownerDashboardProjector.findNextBooking(row.getItemId(), now)
+                    .map(OwnerDashboardServiceImpl::toBookingIdAndBookerId)
+                    .orElse(null));
+        }
+        return dto;
+    }
+
+    private static BookingIdAndBookerId toBookingIdAndBookerId(Booking booking) {
+        return new BookingIdAndBookerId(booking.getId(), booking.getBooker().getId());
+    }
+
+    private static ItemDashboardDto toDto(OwnerDashboardRow row) {
+        return new ItemDashboardDto(row.getItemId(), row.getItemName(), row.getItemDescription(),
+                row.getItemAvailable(),
+                row.getLastBookingId() == null ? null
+                        : new BookingIdAndBookerId(row.getLastBookingId(), row.getLastBookingBookerId()),
+                row.getNextBookingId() == null ? null
+                        : new BookingIdAndBookerId(row.getNextBookingId(), row.getNextBookingBookerId()),
+                row.getCommentsCount(),
+                row.getLastCommentId() == null ? null
+                        : new CommentDto(row.getLastCommentId(), row.getLastCommentText(),
+                        row.getLastCommentAuthorName(), row.getLastCommentCreated()));
+    }
+}
@@ -17,4 +17,11 @@ public class ItemDtoBookingAndComments {
     private BookingIdAndBookerId lastBooking;
     private BookingIdAndBookerId nextBooking;
     private List<CommentDto> comments;
+    private long commentsCount;
+
+    public ItemDtoBookingAndComments(Long id, String name, String description, Boolean available,
+                                     BookingIdAndBookerId lastBooking, BookingIdAndBookerId nextBooking,
+                                     List<CommentDto> comments) {
+        this(id, name, description, available, lastBooking, nextBooking, comments, 0);
+    }
 }
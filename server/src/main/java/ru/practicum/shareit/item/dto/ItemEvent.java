@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ItemEvent {
+    private Long id;
+    private Long ownerId;
+    private String name;
+    private Boolean available;
+    private Long requestId;
+}
@@ -45,7 +45,7 @@ public class ItemMapperImpl implements ItemMapper {
                                                                  List<CommentDto> comments) {
         return new ItemDtoBookingAndComments(item.getId(), item.getName(),
                 item.getDescription(), item.getAvailable(),
-                lastBooking, nextBooking, comments);
+                lastBooking, nextBooking, comments, item.getCommentsCount());
     }
 
     @Override
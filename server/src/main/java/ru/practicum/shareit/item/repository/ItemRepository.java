@@ -2,10 +2,16 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
@@ -15,9 +21,50 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "and i.available = true")
     List<Item> findByText(String text, Pageable pageable);
 
+    @Query("select i from Item as i " +
+            "where ((upper(i.name) like upper(concat('%', ?1, '%') ) ) " +
+            "or (upper(i.description) like upper(concat('%', ?1, '%') ) )) " +
+            "and i.available = true " +
+            "and not exists (select b.id from Booking as b where b.item.id = i.id and b.status = 'APPROVED' " +
+            "and b.start < ?3 and b.end > ?2) " +
+            "order by i.id")
+    List<Item> findAvailableByText(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
     List<Item> findAllByOwner_Id_OrderByIdAsc(long ownerId, Pageable pageable);
 
     List<Item> findByRequest_IdIn(List<Long> requestsId);
 
     List<Item> findByRequest_IdOrderById(long requestId);
-}
\ No newline at end of file
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select i from Item as i where i.id = ?1")
+    Optional<Item> findAndIncrementVersionById(long id);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select i from Item as i where i.id in ?1")
+    List<Item> findAndIncrementVersionByIdIn(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item as i where i.id = ?1")
+    Optional<Item> findAndLockById(long id);
+
+    @Query("select i.id from Item as i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(long ownerId);
+
+    @Query("select i.id from Item as i where i.request.requestor.id = ?1")
+    List<Long> findIdsByRequestRequestorId(long requestorId);
+
+    @Modifying
+    @Query("update Item as i set i.request = null " +
+            "where i.request.id in (select r.id from ItemRequest as r where r.requestor.id = ?1)")
+    int detachFromRequestsOf(long requestorId);
+
+    @Modifying
+    @Query("delete from Item as i where i.owner.id = ?1")
+    int deleteByOwnerId(long ownerId);
+
+    @Modifying
+    @Query(value = "update items set comments_count = " +
+            "(select count(*) from comments as c where c.item_id = items.id) where id in ?1", nativeQuery = true)
+    int recountComments(Collection<Long> ids);
+}
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.common.CursorPage;
 import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingAndComments;
 import ru.practicum.shareit.item.dto.ItemDtoInput;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -12,8 +16,14 @@ public interface ItemService {
 
     ItemDtoBookingAndComments getById(long sharerId, long id);
 
+    CursorPage<CommentDto> getComments(long id, Long cursor, int size);
+
+    ItemAvailabilityDto getAvailability(long id, LocalDate from, LocalDate to);
+
     List<ItemDto> getByText(String text, int from, int size);
 
+    List<ItemDto> getAvailableByText(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
     ItemDto create(long sharerId, ItemDtoInput itemDto);
 
     ItemDto update(long sharerId, long id, ItemDto itemDto);
@@ -10,33 +10,50 @@ import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingMapperImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.CacheInvalidationBus;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.common.CursorPage;
 import ru.practicum.shareit.exception.CommentAccessException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.TimeException;
+import ru.practicum.shareit.exception.ValidateException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.comments.*;
+import ru.practicum.shareit.item.dashboard.OwnerDashboardProjector;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxWriter;
 import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.matching.RequestMatcher;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemServiceImpl implements ItemService {
+    private static final long MAX_AVAILABILITY_DAYS = 366;
+    private static final int LATEST_COMMENTS = 10;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
@@ -45,6 +62,12 @@ public class ItemServiceImpl implements ItemService {
     private final CommentMapper commentMapper = new CommentMapperImpl();
     private final BookingMapper bookingMapper = new BookingMapperImpl();
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final CompletedRentalCache completedRentalCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final OutboxWriter outboxWriter;
+    private final OwnerDashboardProjector ownerDashboardProjector;
+    private final RequestMatcher requestMatcher;
 
     @Override
     public List<ItemDtoBookingAndComments> getAll(long sharerId, int from, int size) {
@@ -57,9 +80,8 @@ public class ItemServiceImpl implements ItemService {
                 PageRequest.of(from / size, size));
         List<ItemDtoBookingAndComments> itemDtoWithBookingAndComments = new ArrayList<>();
         Set<Long> itemsId = items.stream().map(Item::getId).collect(Collectors.toSet());
-        List<Comment> comments = commentRepository.findByItem_IdIn(itemsId);
-        Map<Item, List<Comment>> commentsByItem = comments.stream()
-                .collect(groupingBy(Comment::getItem, toList()));
+        Map<Long, List<Comment>> commentsByItem = findLatestComments(itemsId).stream()
+                .collect(groupingBy(comment -> comment.getItem().getId(), toList()));
 
         List<Booking> lastBookings = bookingRepository.findLastBookings(itemsId);
         Map<Item, List<Booking>> bookingsByItem = lastBookings.stream()
@@ -77,7 +99,7 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDtoBookingAndComments getById(long sharerId, long id) {
-        log.debug("Request GET to /items/{}", id);
+        log.debug("Request GET to /items {}", kv("id", id));
         userRepository.findById(sharerId)
                 .orElseThrow(() ->
                         new NotFoundException("User with id = " + sharerId + " is not found"));
@@ -88,9 +110,43 @@ public class ItemServiceImpl implements ItemService {
         return getItemDtoWithBookingAndComments(sharerId, item);
     }
 
+    @Override
+    public CursorPage<CommentDto> getComments(long id, Long cursor, int size) {
+        log.debug("Request GET to /items/comments {} {} {}", kv("id", id), kv("cursor", cursor), kv("size", size));
+        if (size <= 0) {
+            throw new ValidateException("size is not positive");
+        }
+        if (!itemRepository.existsById(id)) {
+            throw new NotFoundException("Item with id = " + id + " is not found");
+        }
+        List<Comment> comments = commentRepository.findPageByItemId(id, cursor == null ? Long.MAX_VALUE : cursor,
+                PageRequest.of(0, size + 1));
+        Long nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            nextCursor = comments.get(size - 1).getId();
+        }
+        return new CursorPage<>(comments.stream().map(commentMapper::toDto).collect(toList()), nextCursor);
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(long id, LocalDate from, LocalDate to) {
+        log.debug("Request GET to /items/availability {} {} {}", kv("id", id), kv("from", from), kv("to", to));
+        if (to.isBefore(from)) {
+            throw new ValidateException("to is before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS) {
+            throw new ValidateException("no more than " + MAX_AVAILABILITY_DAYS + " days are allowed");
+        }
+        if (!itemRepository.existsById(id)) {
+            throw new NotFoundException("Item with id = " + id + " is not found");
+        }
+        return new ItemAvailabilityDto(id, from, to, itemAvailabilityIndex.getBookedDays(id, from, to));
+    }
+
     @Override
     public List<ItemDto> getByText(String text, int from, int size) {
-        log.debug("Request GET to /items/search?text={}", text);
+        log.debug("Request GET to /items/search", kv("text", text));
         return itemRepository.findByText(text, PageRequest.of(from / size, size))
                 .stream()
                 .map(itemMapper::toDto)
@@ -98,9 +154,22 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    public List<ItemDto> getAvailableByText(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        log.debug("Request GET to /items/search", kv("text", text), kv("start", start), kv("end", end));
+        if (!start.isBefore(end)) {
+            throw new TimeException("start is not before end");
+        }
+        return itemRepository.findAvailableByText(text, start, end, PageRequest.of(from / size, size))
+                .stream()
+                .map(itemMapper::toDto)
+                .collect(toList());
+    }
+
+    @Override
+    @Transactional
     public ItemDto create(long sharerId, ItemDtoInput itemDto) {
-        log.debug("Request POST to /items, with sharerId = {}, id = {}, name = {}, description = {}, isAvailable = {}",
-                sharerId, itemDto.getId(), itemDto.getName(), itemDto.getDescription(), itemDto.getAvailable());
+        log.debug("Request POST to /items", kv("sharerId", sharerId), kv("id", itemDto.getId()),
+                kv("name", itemDto.getName()), kv("available", itemDto.getAvailable()));
         User owner = userRepository.findById(sharerId)
                 .orElseThrow(() ->
                         new NotFoundException("User with id = " + sharerId + " not found"));
@@ -116,13 +185,17 @@ public class ItemServiceImpl implements ItemService {
         // ItemMapper itemMapper1 = new ItemMapperImpl(new UserMapperImpl());
         Item item = itemMapper.fromDtoInput(itemDto, owner, itemRequest);
 
-        return itemMapper.toDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        recordEvent(OutboxEventType.ITEM_CREATED, saved);
+        ownerDashboardProjector.onItemSaved(saved);
+        requestMatcher.indexItem(saved);
+        return itemMapper.toDto(saved);
     }
 
     @Override
     @Transactional
     public ItemDto update(long sharerId, long id, ItemDto itemDto) {
-        log.debug("Request PATCH to /items/{}", id);
+        log.debug("Request PATCH to /items {}", kv("id", id));
         userRepository.findById(sharerId)
                 .orElseThrow(() ->
                         new NotFoundException("User with id = " + sharerId + " is not found"));
@@ -134,43 +207,69 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException("Item with this id is not found in this user");
         }
         itemDto.setId(id);
+        cacheInvalidationBus.invalidate(CacheRegion.ITEMS, id);
+        update(itemDto, item);
+        recordEvent(OutboxEventType.ITEM_UPDATED, item);
+        ownerDashboardProjector.onItemSaved(item);
+        requestMatcher.indexItem(item);
 
-        return itemMapper.toDto(update(itemDto, item));
+        return itemMapper.toDto(item);
     }
 
     @Override
+    @Transactional
     public void deleteById(long sharerId, long id) {
-        log.debug("Request DELETE to /items/{}", id);
+        log.debug("Request DELETE to /items {}", kv("id", id));
         if (!itemRepository.existsById(id) || !userRepository.existsById(sharerId)) {
             throw new NotFoundException("user or item id is not correct");
         }
         itemRepository.deleteById(id);
+        itemAvailabilityIndex.evict(id);
+        completedRentalCache.evictItem(id);
+        cacheInvalidationBus.invalidate(CacheRegion.ITEMS, id);
+        outboxWriter.record(OutboxEventType.ITEM_DELETED, id, id, new ItemEvent(id, sharerId, null, null, null));
+        ownerDashboardProjector.onItemDeleted(id);
+        requestMatcher.removeItem(id);
     }
 
     @Override
+    @Transactional
     public void deleteAll() {
         log.debug("Request DELETE to /items)");
-        itemRepository.deleteAll();
+        commentRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        itemRepository.deleteAllInBatch();
+        itemAvailabilityIndex.evictAll();
+        completedRentalCache.clear();
+        cacheInvalidationBus.invalidateAll(CacheRegion.ITEMS);
+        ownerDashboardProjector.onAllItemsDeleted();
+        requestMatcher.removeAllItems();
     }
 
     @Override
+    @Transactional
     public CommentDto createComment(long userId, long itemId, CommentDto commentDto) {
-        log.debug("Request POST to /items/{}/comment", itemId);
+        log.debug("Request POST to /items/comment {}", kv("itemId", itemId));
         User author = userRepository.findById(userId)
                 .orElseThrow(() ->
                         new NotFoundException("User with id = " + userId + " is not found"));
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findAndLockById(itemId)
                 .orElseThrow(() ->
                         new NotFoundException("Item with id = " + itemId + " is not found"));
 
-        List<Booking> bookings = bookingRepository.findBookingsByBooker_IdAndItem_IdAndEndIsBefore(userId,
-                itemId, LocalDateTime.now());
-        if (bookings.stream().findAny().isEmpty()) {
-            throw new CommentAccessException("User is not booked this item");
+        LocalDateTime now = LocalDateTime.now();
+        if (!completedRentalCache.hasCompleted(userId, itemId, now)) {
+            if (!bookingRepository.existsByBooker_IdAndItem_IdAndEndBefore(userId, itemId, now)) {
+                throw new CommentAccessException("User is not booked this item");
+            }
+            completedRentalCache.onRental(userId, itemId, now);
         }
 
         Comment comment = commentMapper.fromDto(commentDto, item, author);
         commentRepository.save(comment);
+        item.setCommentsCount(item.getCommentsCount() + 1);
+        cacheInvalidationBus.invalidate(CacheRegion.ITEMS, itemId);
+        ownerDashboardProjector.onCommentCreated(comment);
 
         return commentMapper.toDto(comment);
     }
@@ -188,6 +287,19 @@ public class ItemServiceImpl implements ItemService {
         return item;
     }
 
+    private List<Comment> findLatestComments(Set<Long> itemsId) {
+        if (itemsId.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = commentRepository.findLatestIdsByItemIds(itemsId, LATEST_COMMENTS).stream()
+                .map(Number::longValue)
+                .collect(toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return commentRepository.findWithAuthorByIdIn(ids);
+    }
+
     private ItemDtoBookingAndComments getItemDtoWithBookingAndComments(long sharerId, Item item) {
         BookingIdAndBookerId lastBooking = null;
         BookingIdAndBookerId nextBooking = null;
@@ -201,7 +313,8 @@ public class ItemServiceImpl implements ItemService {
                     .map(bookingMapper::toDtoOnlyIdAndBookerId)
                     .orElse(null);
         }
-        List<CommentDto> comments = commentRepository.findByItem_Id(item.getId()).stream()
+        List<CommentDto> comments = commentRepository.findPageByItemId(item.getId(), Long.MAX_VALUE,
+                        PageRequest.of(0, LATEST_COMMENTS)).stream()
                 .map(commentMapper::toDto)
                 .collect(toList());
         return itemMapper.toDtoWithBookingAndComments(item, lastBooking, nextBooking, comments);
@@ -209,7 +322,7 @@ public class ItemServiceImpl implements ItemService {
 
     private void fillItemDtoWithBookingAndComments(List<Item> items,
                                                    List<ItemDtoBookingAndComments> itemDtoWithBookingAndComments,
-                                                   Map<Item, List<Comment>> commentsByItem,
+                                                   Map<Long, List<Comment>> commentsByItem,
                                                    Map<Item, List<Booking>> bookingsByItem,
                                                    Map<Item, List<Booking>> bookingsByItem2) {
         for (Item item : items) {
@@ -218,7 +331,7 @@ public class ItemServiceImpl implements ItemService {
             BookingIdAndBookerId nextBooking = null;
 
             if (commentsByItem.size() != 0) {
-                commentsDto = commentsByItem.get(item).stream()
+                commentsDto = commentsByItem.getOrDefault(item.getId(), List.of()).stream()
                         .map(commentMapper::toDto)
                         .collect(toList());
             }
@@ -244,4 +357,9 @@ public class ItemServiceImpl implements ItemService {
             ));
         }
     }
+
+    private void recordEvent(OutboxEventType type, Item item) {
+        outboxWriter.record(type, item.getId(), item.getId(), new ItemEvent(item.getId(), item.getOwner().getId(),
+                item.getName(), item.getAvailable(), item.getRequest() == null ? null : item.getRequest().getId()));
+    }
 }
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    public void setRules(String rules) {
+        this.rules.clear();
+        for (String rule : rules.split(",")) {
+            if (!rule.isBlank()) {
+                this.rules.add(Rule.parse(rule.trim()));
+            }
+        }
+        this.rules.sort(Comparator.comparingInt((Rule rule) -> rule.prefix.length()).reversed());
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level == null || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (Rule rule : rules) {
+            if (name.startsWith(rule.prefix)) {
+                return rule.sample(level);
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private static final class Rule {
+
+        private final String prefix;
+        private final Level maxLevel;
+        private final long rate;
+        private final AtomicLong counter = new AtomicLong();
+
+        private Rule(String prefix, Level maxLevel, long rate) {
+            this.prefix = prefix;
+            this.maxLevel = maxLevel;
+            this.rate = rate;
+        }
+
+        static Rule parse(String rule) {
+            int equals = rule.indexOf('=');
+            int colon = rule.lastIndexOf(':');
+            if (equals <= 0 || colon <= equals) {
+                throw new IllegalArgumentException("Sampling rule must look like package=LEVEL:rate, got " + rule);
+            }
+            long rate = Long.parseLong(rule.substring(colon + 1).trim());
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Sampling rate is not positive in " + rule);
+            }
+            return new Rule(rule.substring(0, equals).trim(),
+                    Level.toLevel(rule.substring(equals + 1, colon).trim(), Level.DEBUG), rate);
+        }
+
+        FilterReply sample(Level level) {
+            if (level.toInt() > maxLevel.toInt() || rate == 1) {
+                return FilterReply.NEUTRAL;
+            }
+            return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+        }
+    }
+}
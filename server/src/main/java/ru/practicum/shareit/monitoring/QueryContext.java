@@ -0,0 +1,59 @@
+package ru.practicum.shareit.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+public final class QueryContext {
+
+    private static final ThreadLocal<Deque<RepositoryMethod>> REPOSITORY_METHODS =
+            ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<RequestQueryStats> REQUEST_STATS = new ThreadLocal<>();
+
+    private QueryContext() {
+    }
+
+    public static void enterRepositoryMethod(RepositoryMethod method) {
+        REPOSITORY_METHODS.get().push(method);
+    }
+
+    public static void exitRepositoryMethod() {
+        Deque<RepositoryMethod> methods = REPOSITORY_METHODS.get();
+        methods.poll();
+        if (methods.isEmpty()) {
+            REPOSITORY_METHODS.remove();
+        }
+    }
+
+    public static RepositoryMethod currentRepositoryMethod() {
+        RepositoryMethod method = REPOSITORY_METHODS.get().peek();
+        return method == null ? RepositoryMethod.UNATTRIBUTED : method;
+    }
+
+    public static RequestQueryStats startRequest(String request) {
+        RequestQueryStats stats = new RequestQueryStats(request);
+        REQUEST_STATS.set(stats);
+        return stats;
+    }
+
+    public static RequestQueryStats currentRequest() {
+        return REQUEST_STATS.get();
+    }
+
+    public static void endRequest() {
+        REQUEST_STATS.remove();
+    }
+
+    static void onStatement(String sql) {
+        RequestQueryStats stats = REQUEST_STATS.get();
+        if (stats != null) {
+            stats.onStatement(sql);
+        }
+    }
+
+    static void onConnection() {
+        RequestQueryStats stats = REQUEST_STATS.get();
+        if (stats != null) {
+            stats.onConnection();
+        }
+    }
+}
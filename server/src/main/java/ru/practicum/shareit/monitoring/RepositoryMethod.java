@@ -0,0 +1,19 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+
+@Getter
+public class RepositoryMethod {
+
+    public static final RepositoryMethod UNATTRIBUTED = new RepositoryMethod("none", "unattributed");
+
+    private final String repository;
+    private final String method;
+    private final String tag;
+
+    public RepositoryMethod(String repository, String method) {
+        this.repository = repository;
+        this.method = method;
+        this.tag = repository + "." + method;
+    }
+}
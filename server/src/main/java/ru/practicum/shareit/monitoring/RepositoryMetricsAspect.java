@@ -0,0 +1,90 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryMethod method = new RepositoryMethod(repositoryName(joinPoint.getThis()),
+                joinPoint.getSignature().getName());
+        QueryContext.enterRepositoryMethod(method);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            Object result = joinPoint.proceed();
+            Long rows = rowCount(result);
+            if (rows != null) {
+                DistributionSummary.builder("shareit.repository.rows")
+                        .tag("repository", method.getRepository())
+                        .tag("method", method.getMethod())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("shareit.repository.calls")
+                    .tag("repository", method.getRepository())
+                    .tag("method", method.getMethod())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            QueryContext.exitRepositoryMethod();
+        }
+    }
+
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), proxyClass -> {
+            for (Class<?> repositoryInterface : proxyClass.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(repositoryInterface)
+                        && !repositoryInterface.getName().startsWith("org.springframework")) {
+                    return repositoryInterface.getSimpleName();
+                }
+            }
+            return proxyClass.getSimpleName();
+        });
+    }
+
+    private Long rowCount(Object result) {
+        if (result == null) {
+            return 0L;
+        }
+        if (result instanceof Collection) {
+            return (long) ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return (long) ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1L : 0L;
+        }
+        if (result instanceof AutoCloseable) {
+            return null;
+        }
+        return 1L;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+@RequiredArgsConstructor
+public class RepositoryTaggingStatementInspector implements StatementInspector {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public String inspect(String sql) {
+        RepositoryMethod method = QueryContext.currentRepositoryMethod();
+        meterRegistry.counter("shareit.repository.statements",
+                "repository", method.getRepository(),
+                "method", method.getMethod()).increment();
+        String taggedSql = "/* " + method.getTag() + " */ " + sql;
+        QueryContext.onStatement(taggedSql);
+        return taggedSql;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+public class RequestQueryStats {
+
+    private static final int MAX_CAPTURED_STATEMENTS = 50;
+
+    private final String request;
+    private final long startNanos = System.nanoTime();
+    private final List<String> capturedStatements = new ArrayList<>();
+    private int statements;
+    private int connections;
+
+    RequestQueryStats(String request) {
+        this.request = request;
+    }
+
+    void onStatement(String sql) {
+        statements++;
+        if (capturedStatements.size() < MAX_CAPTURED_STATEMENTS) {
+            capturedStatements.add(sql);
+        }
+    }
+
+    void onConnection() {
+        connections++;
+    }
+
+    public List<String> getCapturedStatements() {
+        return Collections.unmodifiableList(capturedStatements);
+    }
+}
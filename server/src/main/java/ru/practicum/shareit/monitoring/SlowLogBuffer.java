@@ -0,0 +1,43 @@
+package ru.practicum.shareit.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SlowLogBuffer<T> {
+
+    private final Object[] entries;
+    private int next;
+    private int size;
+
+    public SlowLogBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity is not positive");
+        }
+        this.entries = new Object[capacity];
+    }
+
+    public synchronized void add(T entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        if (size < entries.length) {
+            size++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> newestFirst() {
+        List<T> result = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            result.add((T) entries[(next - i + entries.length) % entries.length]);
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+        next = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "slowlog")
+public class SlowLogEndpoint {
+
+    private final SlowQueryRecorder recorder;
+
+    @ReadOperation
+    public Map<String, Object> slowLog() {
+        return Map.of("queries", recorder.getQueries(),
+                "requests", recorder.getRequests());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        recorder.clear();
+    }
+}
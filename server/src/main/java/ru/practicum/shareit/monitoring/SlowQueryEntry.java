@@ -0,0 +1,20 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class SlowQueryEntry {
+    private final Instant timestamp;
+    private final String request;
+    private final String sql;
+    private final List<String> parameters;
+    private final long durationMs;
+    @Setter
+    private volatile String plan;
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class SlowQueryRecorder {
+
+    private static final int EXPLAIN_TIMEOUT_SECONDS = 30;
+
+    private final long slowQueryThresholdNanos;
+    private final long slowRequestThresholdNanos;
+    private final boolean explainEnabled;
+    private final SlowLogBuffer<SlowQueryEntry> queries;
+    private final SlowLogBuffer<SlowRequestEntry> requests;
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1,
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryRecorder(@Value("${shareit.monitoring.slow-query-threshold-ms:200}") long slowQueryThresholdMs,
+                             @Value("${shareit.monitoring.slow-request-threshold-ms:1000}") long slowRequestThresholdMs,
+                             @Value("${shareit.monitoring.slow-log-capacity:100}") int capacity,
+                             @Value("${shareit.monitoring.explain-enabled:true}") boolean explainEnabled) {
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs);
+        this.slowRequestThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestThresholdMs);
+        this.explainEnabled = explainEnabled;
+        this.queries = new SlowLogBuffer<>(capacity);
+        this.requests = new SlowLogBuffer<>(capacity);
+    }
+
+    public boolean isSlowQuery(long elapsedNanos) {
+        return elapsedNanos >= slowQueryThresholdNanos;
+    }
+
+    public void recordQuery(String sql, Map<Integer, Object> parameters, long elapsedNanos,
+                            DataSource explainDataSource) {
+        RequestQueryStats stats = QueryContext.currentRequest();
+        List<Object> values = new ArrayList<>(parameters.values());
+        SlowQueryEntry entry = new SlowQueryEntry(Instant.now(),
+                stats == null ? null : stats.getRequest(),
+                sql,
+                values.stream().map(SlowQueryRecorder::redact).collect(Collectors.toList()),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        queries.add(entry);
+        log.warn("Slow query {} ms: {}", entry.getDurationMs(), sql);
+
+        if (explainEnabled && explainDataSource != null && isSelect(sql)) {
+            explainExecutor.execute(() -> entry.setPlan(explain(explainDataSource, sql, values)));
+        }
+    }
+
+    public void recordRequestIfSlow(RequestQueryStats stats) {
+        long elapsedNanos = System.nanoTime() - stats.getStartNanos();
+        if (elapsedNanos < slowRequestThresholdNanos) {
+            return;
+        }
+        SlowRequestEntry entry = new SlowRequestEntry(Instant.now(), stats.getRequest(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), stats.getStatements(),
+                new ArrayList<>(stats.getCapturedStatements()));
+        requests.add(entry);
+        log.warn("Slow request {} ms, {} statements: {}", entry.getDurationMs(), entry.getStatements(),
+                entry.getRequest());
+    }
+
+    public List<SlowQueryEntry> getQueries() {
+        return queries.newestFirst();
+    }
+
+    public List<SlowRequestEntry> getRequests() {
+        return requests.newestFirst();
+    }
+
+    public void clear() {
+        queries.clear();
+        requests.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private String explain(DataSource dataSource, String sql, List<Object> parameters) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                statement.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.info("Could not explain slow query: {}", e.getMessage());
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static String redact(Object value) {
+        return value == null ? "null" : "?:" + value.getClass().getSimpleName();
+    }
+
+    private boolean isSelect(String sql) {
+        String statement = sql.trim();
+        if (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            statement = end < 0 ? statement : statement.substring(end + 2).trim();
+        }
+        String lower = statement.toLowerCase(Locale.ROOT);
+        return lower.startsWith("select") || lower.startsWith("with");
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SlowRequestEntry {
+    private final Instant timestamp;
+    private final String request;
+    private final long durationMs;
+    private final int statements;
+    private final List<String> sql;
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+@Component
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-Statement-Count";
+    public static final String CONNECTION_COUNT_HEADER = "X-Connection-Count";
+
+    private final ObjectProvider<SlowQueryRecorder> slowQueryRecorder;
+
+    @Value("${shareit.monitoring.statement-count-header:false}")
+    private boolean headerEnabled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String query = request.getQueryString();
+        RequestQueryStats stats = QueryContext.startRequest(request.getMethod() + " " + request.getRequestURI()
+                + (query == null ? "" : "?" + query));
+        try {
+            filterChain.doFilter(request, headerEnabled ? new StatementCountResponseWrapper(response, stats) : response);
+            slowQueryRecorder.ifAvailable(recorder -> recorder.recordRequestIfSlow(stats));
+        } finally {
+            QueryContext.endRequest();
+        }
+    }
+
+    private static class StatementCountResponseWrapper extends HttpServletResponseWrapper {
+
+        private final RequestQueryStats stats;
+
+        StatementCountResponseWrapper(HttpServletResponse response, RequestQueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        private void writeHeader() {
+            if (!isCommitted()) {
+                setHeader(STATEMENT_COUNT_HEADER, String.valueOf(stats.getStatements()));
+                setHeader(CONNECTION_COUNT_HEADER, String.valueOf(stats.getConnections()));
+            }
+        }
+    }
+}
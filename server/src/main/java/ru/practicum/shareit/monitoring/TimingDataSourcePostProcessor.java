@@ -0,0 +1,26 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+@RequiredArgsConstructor
+public class TimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryRecorder> recorder;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof TimingDataSource)) {
+            SlowQueryRecorder slowQueryRecorder = recorder.getIfAvailable();
+            if (slowQueryRecorder != null) {
+                return new TimingDataSource((DataSource) bean, slowQueryRecorder);
+            }
+        }
+        return bean;
+    }
+}
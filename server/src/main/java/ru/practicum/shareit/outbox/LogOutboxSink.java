@@ -0,0 +1,19 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    @Override
+    public void send(OutboxEvent event) {
+        log.info("Outbox event", kv("id", event.getId()), kv("type", event.getEventType()),
+                kv("aggregateId", event.getAggregateId()), kv("payload", event.getPayload()));
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByIdInOrderById(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from OutboxEvent as e where e.status = ?1 and e.deadAt < ?2")
+    int deleteByStatusAndDeadAtBefore(OutboxStatus status, LocalDateTime before);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("select min(e.created) from OutboxEvent as e where e.status = ?1")
+    Optional<LocalDateTime> findOldestCreated(OutboxStatus status);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OutboxEventType {
+    BOOKING_CREATED("booking"),
+    BOOKING_STATUS_CHANGED("booking"),
+    ITEM_CREATED("item"),
+    ITEM_UPDATED("item"),
+    ITEM_DELETED("item");
+
+    private final String aggregateType;
+}
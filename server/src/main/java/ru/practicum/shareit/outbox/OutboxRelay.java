@@ -0,0 +1,233 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String CLAIM_SQL = "select e.id from outbox_events as e where e.status = 'PENDING' " +
+            "and (e.next_attempt_at is null or e.next_attempt_at <= ?) " +
+            "and not exists (select 1 from outbox_events as o where o.partition_key = e.partition_key " +
+            "and o.status = 'PENDING' and o.id < e.id and o.next_attempt_at > ?) " +
+            "order by e.id limit ? for update";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long maxBackoffMs;
+    private final long claimLeaseMs;
+    private final long deadRetentionMs;
+    private final ExecutorService lanes;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMs = new AtomicLong();
+    private volatile Boolean skipLockedSupported;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       JdbcTemplate jdbcTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${shareit.outbox.batch-size:200}") int batchSize,
+                       @Value("${shareit.outbox.parallelism:4}") int parallelism,
+                       @Value("${shareit.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${shareit.outbox.retry-backoff-ms:1000}") long retryBackoffMs,
+                       @Value("${shareit.outbox.max-backoff-ms:300000}") long maxBackoffMs,
+                       @Value("${shareit.outbox.claim-lease-ms:60000}") long claimLeaseMs,
+                       @Value("${shareit.outbox.dead-retention-ms:604800000}") long deadRetentionMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.claimLeaseMs = claimLeaseMs;
+        this.deadRetentionMs = deadRetentionMs;
+        AtomicInteger threads = new AtomicInteger();
+        this.lanes = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.published = meterRegistry.counter("shareit.outbox.published");
+        this.failed = meterRegistry.counter("shareit.outbox.failed");
+        this.deadLettered = meterRegistry.counter("shareit.outbox.dead");
+        Gauge.builder("shareit.outbox.pending", pending, AtomicLong::get)
+                .register(meterRegistry);
+        TimeGauge.builder("shareit.outbox.lag", lagMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        List<OutboxEvent> batch = claim(LocalDateTime.now());
+        if (!batch.isEmpty()) {
+            Map<Integer, List<OutboxEvent>> byLane = batch.stream()
+                    .collect(Collectors.groupingBy(event -> Math.floorMod(event.getPartitionKey(), parallelism),
+                            TreeMap::new, Collectors.toList()));
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (List<OutboxEvent> events : byLane.values()) {
+                futures.add(lanes.submit(() -> drain(events)));
+            }
+            List<Long> sent = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                sent.addAll(await(future));
+            }
+            Set<Long> sentIds = new HashSet<>(sent);
+            List<OutboxEvent> unsent = batch.stream()
+                    .filter(event -> !sentIds.contains(event.getId()))
+                    .collect(Collectors.toList());
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxEventRepository.deleteAllByIdInBatch(sent);
+                outboxEventRepository.saveAll(unsent);
+            });
+            log.debug("Relayed outbox events {} {}", kv("sent", sent.size()), kv("batch", batch.size()));
+        }
+        updateLag();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeDead() {
+        int purged = outboxEventRepository.deleteByStatusAndDeadAtBefore(OutboxStatus.DEAD,
+                LocalDateTime.now().minus(Duration.ofMillis(deadRetentionMs)));
+        if (purged > 0) {
+            log.info("Purged dead outbox events {}", kv("count", purged));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.shutdownNow();
+    }
+
+    private List<OutboxEvent> claim(LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            Timestamp due = Timestamp.valueOf(now);
+            List<Long> ids = jdbcTemplate.queryForList(skipLocked() ? CLAIM_SQL + " skip locked" : CLAIM_SQL,
+                    Long.class, due, due, batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            List<OutboxEvent> batch = outboxEventRepository.findByIdInOrderById(ids);
+            LocalDateTime leasedUntil = now.plus(Duration.ofMillis(claimLeaseMs));
+            batch.forEach(event -> event.setNextAttemptAt(leasedUntil));
+            return batch;
+        });
+    }
+
+    private List<Long> drain(List<OutboxEvent> events) {
+        List<Long> sent = new ArrayList<>();
+        Set<Long> held = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            if (held.contains(event.getPartitionKey())) {
+                event.setNextAttemptAt(null);
+                continue;
+            }
+            try {
+                sink.send(event);
+            } catch (RuntimeException e) {
+                failed.increment();
+                if (!recordFailure(event, e, now)) {
+                    held.add(event.getPartitionKey());
+                }
+                continue;
+            }
+            published.increment();
+            sent.add(event.getId());
+        }
+        return sent;
+    }
+
+    private boolean recordFailure(OutboxEvent event, RuntimeException e, LocalDateTime now) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(String.valueOf(e.getMessage()));
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(OutboxStatus.DEAD);
+            event.setNextAttemptAt(null);
+            event.setDeadAt(now);
+            deadLettered.increment();
+            log.error("Outbox event moved to dead letter, releasing its partition {} {} {}",
+                    kv("id", event.getId()), kv("partitionKey", event.getPartitionKey()),
+                    kv("attempts", event.getAttempts()), e);
+            return true;
+        }
+        long backoffMs = Math.min(maxBackoffMs, retryBackoffMs << Math.min(event.getAttempts() - 1, 20));
+        event.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMs)));
+        log.warn("Outbox sink rejected event, holding its partition until the retry {} {} {} {}",
+                kv("id", event.getId()), kv("partitionKey", event.getPartitionKey()),
+                kv("attempts", event.getAttempts()), kv("retryInMs", backoffMs), e);
+        return false;
+    }
+
+    private boolean skipLocked() {
+        if (skipLockedSupported == null) {
+            skipLockedSupported = jdbcTemplate.execute((Connection connection) ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return skipLockedSupported;
+    }
+
+    private void updateLag() {
+        pending.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+        lagMs.set(outboxEventRepository.findOldestCreated(OutboxStatus.PENDING)
+                .map(created -> Duration.between(created, LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+
+    private static List<Long> await(Future<List<Long>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Outbox relay interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Outbox lane failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.outbox;
+
+public interface OutboxSink {
+
+    void send(OutboxEvent event);
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.request;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.configuration.EntityCacheConfig;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -9,6 +12,8 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "requests")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.REQUESTS_REGION)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -2,16 +2,29 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.CursorPage;
+import ru.practicum.shareit.common.NdjsonWriter;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedPage;
 import ru.practicum.shareit.request.dto.ItemRequestOutput;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Slf4j
 @Validated
@@ -21,6 +34,7 @@ import java.util.List;
 public class ItemRequestController {
 
     private final ItemRequestService itemRequestService;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping
     public List<ItemRequestOutput> getAll(@RequestHeader("X-Sharer-User-Id") long requestorId) {
@@ -31,16 +45,63 @@ public class ItemRequestController {
     @GetMapping("/{requestId}")
     public ItemRequestOutput getById(@RequestHeader("X-Sharer-User-Id") long userId,
                                         @PathVariable long requestId) {
-        log.debug("Request GET to /requests/{}", requestId);
+        log.debug("Request GET to /requests {}", kv("requestId", requestId));
         return itemRequestService.getById(userId, requestId);
     }
 
     @GetMapping("/all")
-    public List<ItemRequestOutput> getAllAnotherUsers(@RequestHeader("X-Sharer-User-Id") long requestorId,
+    public ResponseEntity<List<ItemRequestOutput>> getAllAnotherUsers(
+            @RequestHeader("X-Sharer-User-Id") long requestorId,
+            @RequestParam(name = "from", required = false) @PositiveOrZero Integer from,
+            @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "since", required = false) String since) {
+        log.debug("Request GET to /requests/all {} {} {}", kv("from", from), kv("cursor", cursor),
+                kv("since", since));
+        if (from != null || (cursor == null && since == null)) {
+            return ResponseEntity.ok(itemRequestService.getAllAnotherUsers(requestorId, from == null ? 0 : from,
+                    size));
+        }
+        ItemRequestFeedPage page = since == null
+                ? itemRequestService.getFeed(requestorId, cursor.isEmpty() ? null : cursor, size)
+                : itemRequestService.getFeedSince(requestorId, since, size);
+        if (since != null && page.getContent().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header(ItemRequestFeedPage.LATEST_CURSOR_HEADER, since)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        if (page.getLatestCursor() != null) {
+            response.header(ItemRequestFeedPage.LATEST_CURSOR_HEADER, page.getLatestCursor());
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/matches")
+    public List<RequestMatchDto> getMatches(@RequestHeader("X-Sharer-User-Id") long ownerId,
                                             @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
                                             @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
-        log.debug("Request GET to /requests/all");
-        return itemRequestService.getAllAnotherUsers(requestorId, from, size);
+        log.debug("Request GET to /requests/matches", kv("ownerId", ownerId));
+        return itemRequestService.getMatches(ownerId, from, size);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.debug("Request GET to /requests/stream", kv("userId", userId));
+        return itemRequestService.subscribe(userId);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> createBatch(@RequestHeader("X-Sharer-User-Id") long requestorId,
+                                                             @RequestBody List<ItemRequestDto> requests) {
+        log.debug("Request POST to /requests/batch", kv("requestorId", requestorId), kv("rows", requests.size()));
+        Stream<BatchResult> results = itemRequestService.createBatch(requestorId, requests);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.CONTENT_TYPE))
+                .body(out -> ndjsonWriter.write(results, BatchResult.class, out));
     }
 
     @PostMapping
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.ValidateException;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Value
+public class ItemRequestCursor {
+    private static final String SEPARATOR = "|";
+    private static final String ID_SEPARATOR = ",";
+
+    LocalDateTime created;
+    long id;
+    Set<Long> seen;
+    LocalDateTime floorCreated;
+    long floorId;
+
+    public static ItemRequestCursor of(ItemRequest request) {
+        return new ItemRequestCursor(request.getCreated(), request.getId(), Set.of(), null, 0);
+    }
+
+    public static ItemRequestCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(SEPARATOR), -1);
+            Set<Long> seen = parts.length > 2 && !parts[2].isEmpty()
+                    ? Arrays.stream(parts[2].split(ID_SEPARATOR)).map(Long::valueOf).collect(Collectors.toSet())
+                    : Set.of();
+            LocalDateTime floorCreated = parts.length > 4 ? LocalDateTime.parse(parts[3]) : null;
+            long floorId = parts.length > 4 ? Long.parseLong(parts[4]) : 0;
+            return new ItemRequestCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]), seen,
+                    floorCreated, floorId);
+        } catch (RuntimeException e) {
+            throw new ValidateException("Cursor " + cursor + " is not valid");
+        }
+    }
+
+    public boolean hasSeen(long requestId) {
+        return requestId == id || seen.contains(requestId);
+    }
+
+    public ItemRequestCursor withSeen(Set<Long> seen) {
+        return new ItemRequestCursor(created, id, seen, floorCreated, floorId);
+    }
+
+    public ItemRequestCursor withFloor(LocalDateTime floorCreated, long floorId) {
+        return new ItemRequestCursor(created, id, seen, floorCreated, floorId);
+    }
+
+    public ItemRequestCursor capSeen(int maxSeen) {
+        return seen.size() <= maxSeen ? this : new ItemRequestCursor(created, id, Set.of(), created, id);
+    }
+
+    public String encode() {
+        String value = created + SEPARATOR + id;
+        if (!seen.isEmpty() || floorCreated != null) {
+            value += SEPARATOR + seen.stream().sorted().map(String::valueOf)
+                    .collect(Collectors.joining(ID_SEPARATOR));
+        }
+        if (floorCreated != null) {
+            value += SEPARATOR + floorCreated + SEPARATOR + floorId;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemRequestFeedPage {
+    public static final String LATEST_CURSOR_HEADER = "X-Latest-Cursor";
+
+    private List<ItemRequestOutput> content;
+    private String nextCursor;
+    private String latestCursor;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.user.dto.UserDtoIdAndName;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class RequestMatchDto {
+    private Long id;
+    private String description;
+    private UserDtoIdAndName requestor;
+    private LocalDateTime created;
+    private long score;
+}
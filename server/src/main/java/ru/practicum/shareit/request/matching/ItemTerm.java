@@ -0,0 +1,51 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "item_terms")
+@IdClass(ItemTermId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ItemTerm implements Persistable<ItemTermId> {
+
+    @Id
+    @Column(name = "term")
+    private String term;
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Transient
+    private boolean persisted;
+
+    public ItemTerm(String term, Long itemId, Long ownerId) {
+        this.term = term;
+        this.itemId = itemId;
+        this.ownerId = ownerId;
+    }
+
+    @Override
+    public ItemTermId getId() {
+        return new ItemTermId(term, itemId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request.matching;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemTermRepository extends JpaRepository<ItemTerm, ItemTermId> {
+
+    @Query("select t.ownerId as ownerId, count(distinct t.term) as score from ItemTerm as t " +
+            "where t.term in ?1 and t.ownerId <> ?2 " +
+            "group by t.ownerId " +
+            "order by count(distinct t.term) desc, t.ownerId")
+    List<OwnerScore> findOwnerScores(Collection<String> terms, long excludedOwnerId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from ItemTerm as t where t.itemId = ?1")
+    int deleteByItemId(long itemId);
+
+    @Modifying
+    @Query("delete from ItemTerm as t where t.ownerId = ?1")
+    int deleteByOwnerId(long ownerId);
+}
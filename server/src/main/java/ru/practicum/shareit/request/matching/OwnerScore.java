@@ -0,0 +1,8 @@
+package ru.practicum.shareit.request.matching;
+
+public interface OwnerScore {
+
+    Long getOwnerId();
+
+    Long getScore();
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+import ru.practicum.shareit.request.ItemRequest;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "request_matches")
+@IdClass(RequestMatchId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RequestMatch implements Persistable<RequestMatchId> {
+
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+    @Column(name = "score")
+    private long score;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "request_id", insertable = false, updatable = false)
+    private ItemRequest request;
+
+    @Transient
+    private boolean persisted;
+
+    public RequestMatch(Long requestId, Long ownerId, long score) {
+        this.requestId = requestId;
+        this.ownerId = ownerId;
+        this.score = score;
+    }
+
+    @Override
+    public RequestMatchId getId() {
+        return new RequestMatchId(requestId, ownerId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
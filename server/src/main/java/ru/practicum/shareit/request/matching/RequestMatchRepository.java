@@ -0,0 +1,19 @@
+package ru.practicum.shareit.request.matching;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface RequestMatchRepository extends JpaRepository<RequestMatch, RequestMatchId> {
+
+    @Query("select m from RequestMatch as m join fetch m.request as r join fetch r.requestor " +
+            "where m.ownerId = ?1 order by m.score desc, m.requestId desc")
+    List<RequestMatch> findByOwnerId(long ownerId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from RequestMatch as m where m.ownerId = ?1")
+    int deleteByOwnerId(long ownerId);
+}
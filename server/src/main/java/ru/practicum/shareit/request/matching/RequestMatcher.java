@@ -0,0 +1,73 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+public class RequestMatcher {
+
+    private final ItemTermRepository itemTermRepository;
+    private final RequestMatchRepository requestMatchRepository;
+    private final int maxCandidates;
+
+    public RequestMatcher(ItemTermRepository itemTermRepository,
+                          RequestMatchRepository requestMatchRepository,
+                          @Value("${shareit.requests.matching.max-candidates:50}") int maxCandidates) {
+        this.itemTermRepository = itemTermRepository;
+        this.requestMatchRepository = requestMatchRepository;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void indexItem(Item item) {
+        itemTermRepository.deleteByItemId(item.getId());
+        long ownerId = item.getOwner().getId();
+        itemTermRepository.saveAll(TermTokenizer.tokenize(item.getName(), item.getDescription()).stream()
+                .map(term -> new ItemTerm(term, item.getId(), ownerId))
+                .collect(toList()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeItem(long itemId) {
+        itemTermRepository.deleteByItemId(itemId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeAllItems() {
+        itemTermRepository.deleteAllInBatch();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeOwner(long ownerId) {
+        itemTermRepository.deleteByOwnerId(ownerId);
+        requestMatchRepository.deleteByOwnerId(ownerId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void match(ItemRequest request) {
+        Set<String> terms = TermTokenizer.tokenize(request.getDescription());
+        if (terms.isEmpty()) {
+            return;
+        }
+        List<OwnerScore> candidates = itemTermRepository.findOwnerScores(terms, request.getRequestor().getId(),
+                PageRequest.of(0, maxCandidates));
+        requestMatchRepository.saveAll(candidates.stream()
+                .map(candidate -> new RequestMatch(request.getId(), candidate.getOwnerId(), candidate.getScore()))
+                .collect(toList()));
+        log.debug("Matched item request", kv("requestId", request.getId()), kv("terms", terms.size()),
+                kv("owners", candidates.size()));
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.request.matching;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TermTokenizer {
+
+    static final int MIN_TERM_LENGTH = 3;
+    static final int MAX_TERM_LENGTH = 64;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "want", "need", "this", "that", "have", "from", "any", "some",
+            "для", "что", "как", "или", "хочу", "нужен", "нужна", "нужно", "есть");
+
+    private TermTokenizer() {
+    }
+
+    public static Set<String> tokenize(String... texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+                if (token.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(token)) {
+                    terms.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+                }
+            }
+        }
+        return terms;
+    }
+}
@@ -2,12 +2,36 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findByRequestor_Id(long requestorId);
 
     List<ItemRequest> findByRequestor_IdNot(long requestorId, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("select r from ItemRequest r where r.requestor.id <> ?1 order by r.created desc, r.id desc")
+    List<ItemRequest> findFeed(long requestorId, Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.requestor.id <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) order by r.created desc, r.id desc")
+    List<ItemRequest> findFeedBefore(long requestorId, LocalDateTime created, long id, Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.requestor.id <> ?1 " +
+            "and (r.created > ?2 or (r.created = ?2 and r.id > ?3)) order by r.created asc, r.id asc")
+    List<ItemRequest> findFeedAfter(long requestorId, LocalDateTime created, long id, Pageable pageable);
+
+    @Query("select r.id from ItemRequest r where r.requestor.id <> ?1 and r.created >= ?2 and r.created <= ?3")
+    List<Long> findFeedIdsBetween(long requestorId, LocalDateTime from, LocalDateTime to);
+
+    @Query("select r.id from ItemRequest as r where r.requestor.id = ?1")
+    List<Long> findIdsByRequestorId(long requestorId);
+
+    @Modifying
+    @Query("delete from ItemRequest as r where r.requestor.id = ?1")
+    int deleteByRequestorId(long requestorId);
+}
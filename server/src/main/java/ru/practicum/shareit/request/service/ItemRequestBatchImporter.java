@@ -0,0 +1,79 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.JdbcBatchInserter;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.matching.RequestMatcher;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemRequestBatchImporter {
+
+    private static final String INSERT_REQUEST =
+            "insert into requests (description, requestor_id, created) values (?, ?, ?)";
+
+    private final JdbcBatchInserter jdbcBatchInserter;
+    private final UserRepository userRepository;
+    private final RequestMatcher requestMatcher;
+
+    @Transactional
+    public List<BatchResult> importChunk(long requestorId, int offset, List<ItemRequestDto> requests) {
+        List<BatchResult> results = new ArrayList<>(requests.size());
+        List<ItemRequestDto> inserts = new ArrayList<>();
+        List<BatchResult> insertResults = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ItemRequestDto request = requests.get(i);
+            String error = validate(request);
+            BatchResult result = new BatchResult(offset + i, null, error);
+            results.add(result);
+            if (error == null) {
+                inserts.add(request);
+                insertResults.add(result);
+            }
+        }
+
+        List<LocalDateTime> created = new ArrayList<>(inserts.size());
+        List<Long> ids = jdbcBatchInserter.insert(INSERT_REQUEST, inserts, (statement, request) -> {
+            LocalDateTime now = LocalDateTime.now();
+            created.add(now);
+            statement.setString(1, request.getDescription());
+            statement.setLong(2, requestorId);
+            statement.setTimestamp(3, Timestamp.valueOf(now));
+        });
+        User requestor = userRepository.getReferenceById(requestorId);
+        for (int i = 0; i < ids.size(); i++) {
+            insertResults.get(i).setId(ids.get(i));
+            requestMatcher.match(new ItemRequest(ids.get(i), inserts.get(i).getDescription(), requestor,
+                    created.get(i)));
+        }
+        log.debug("Imported item requests chunk {} {} {} {}", kv("requestorId", requestorId), kv("offset", offset),
+                kv("rows", requests.size()), kv("inserted", ids.size()));
+        return results;
+    }
+
+    private static String validate(ItemRequestDto request) {
+        if (request == null) {
+            return "Request is required";
+        }
+        if (request.getDescription() == null || request.getDescription().isBlank()) {
+            return "description: must not be blank";
+        }
+        return null;
+    }
+}
@@ -1,9 +1,14 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.common.BatchResult;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedPage;
 import ru.practicum.shareit.request.dto.ItemRequestOutput;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRequestService {
     List<ItemRequestOutput> getAll(long requestorId);
@@ -12,5 +17,15 @@ public interface ItemRequestService {
 
     List<ItemRequestOutput> getAllAnotherUsers(long requestorId, int from, int size);
 
+    ItemRequestFeedPage getFeed(long requestorId, String cursor, int size);
+
+    ItemRequestFeedPage getFeedSince(long requestorId, String since, int size);
+
     ItemRequestOutput create(long requestorId, ItemRequestDto itemRequest);
+
+    Stream<BatchResult> createBatch(long requestorId, List<ItemRequestDto> requests);
+
+    List<RequestMatchDto> getMatches(long ownerId, int from, int size);
+
+    SseEmitter subscribe(long userId);
 }
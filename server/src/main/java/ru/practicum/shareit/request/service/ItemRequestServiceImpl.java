@@ -1,44 +1,78 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.ChunkedBatch;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.item.dto.ItemDtoRequests;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemMapperImpl;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDtoMapperImpl;
+import ru.practicum.shareit.request.dto.ItemRequestFeedPage;
 import ru.practicum.shareit.request.dto.ItemRequestOutput;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
+import ru.practicum.shareit.request.matching.RequestMatchRepository;
+import ru.practicum.shareit.request.matching.RequestMatcher;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.sse.EventStream;
+import ru.practicum.shareit.sse.EventStreamHub;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDtoIdAndName;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final RequestMatcher requestMatcher;
+    private final RequestMatchRepository requestMatchRepository;
+    private final EventStreamHub eventStreamHub;
+    private final ItemRequestBatchImporter itemRequestBatchImporter;
     private final ItemRequestDtoMapper itemRequestDtoMapper = new ItemRequestDtoMapperImpl();
     private final ItemMapper itemMapper = new ItemMapperImpl(new UserMapperImpl());
 
+    @Value("${shareit.batch.chunk-size:500}")
+    private int batchChunkSize;
+    @Value("${shareit.batch.max-size:10000}")
+    private int batchMaxSize;
+    @Value("${shareit.requests.feed.overlap-ms:10000}")
+    private long feedOverlapMs;
+    @Value("${shareit.requests.feed.max-seen:100}")
+    private int feedMaxSeen;
+
     @Override
     public List<ItemRequestOutput> getAll(long requestorId) {
         if (!userRepository.existsById(requestorId)) {
@@ -74,6 +108,75 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    public ItemRequestFeedPage getFeed(long requestorId, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<ItemRequest> requests;
+        if (cursor == null) {
+            requests = itemRequestRepository.findFeed(requestorId, limit);
+        } else {
+            ItemRequestCursor after = ItemRequestCursor.decode(cursor);
+            requests = itemRequestRepository.findFeedBefore(requestorId, after.getCreated(), after.getId(), limit);
+        }
+        String nextCursor = null;
+        if (requests.size() > size) {
+            requests = requests.subList(0, size);
+            nextCursor = ItemRequestCursor.of(requests.get(size - 1)).encode();
+        }
+        String latestCursor = cursor == null && !requests.isEmpty()
+                ? latestCursor(requestorId, requests.get(0)).encode()
+                : null;
+        return new ItemRequestFeedPage(getItemRequestsDtoWithItemsFromRequests(requests), nextCursor, latestCursor);
+    }
+
+    @Override
+    public ItemRequestFeedPage getFeedSince(long requestorId, String since, int size) {
+        ItemRequestCursor latest = ItemRequestCursor.decode(since);
+        PageRequest limit = PageRequest.of(0, size + latest.getSeen().size() + 1);
+        List<ItemRequest> window = latest.getFloorCreated() == null
+                ? itemRequestRepository.findFeedAfter(requestorId,
+                        latest.getCreated().minus(feedOverlapMs, ChronoUnit.MILLIS), 0, limit)
+                : itemRequestRepository.findFeedAfter(requestorId, latest.getFloorCreated(), latest.getFloorId(),
+                        limit);
+        List<ItemRequest> requests = window.stream()
+                .filter(request -> !latest.hasSeen(request.getId()))
+                .limit(size)
+                .collect(toList());
+        if (requests.isEmpty()) {
+            return new ItemRequestFeedPage(List.of(), null, since);
+        }
+        ItemRequestCursor newest = Stream.concat(Stream.of(latest), requests.stream().map(ItemRequestCursor::of))
+                .max(Comparator.comparing(ItemRequestCursor::getCreated).thenComparingLong(ItemRequestCursor::getId))
+                .orElseThrow();
+        LocalDateTime windowStart = newest.getCreated().minus(feedOverlapMs, ChronoUnit.MILLIS);
+        Set<Long> seen = new HashSet<>(latest.getSeen());
+        seen.add(latest.getId());
+        requests.forEach(request -> seen.add(request.getId()));
+        window.stream()
+                .filter(request -> request.getCreated().isBefore(windowStart))
+                .forEach(request -> seen.remove(request.getId()));
+        if (window.size() < limit.getPageSize()) {
+            seen.retainAll(window.stream().map(ItemRequest::getId).collect(Collectors.toSet()));
+        }
+        seen.remove(newest.getId());
+        ItemRequestCursor next = new ItemRequestCursor(newest.getCreated(), newest.getId(), seen, null, 0);
+        if (latest.getFloorCreated() != null && latest.getFloorCreated().isAfter(windowStart)) {
+            next = next.withFloor(latest.getFloorCreated(), latest.getFloorId());
+        }
+        requests.sort(Comparator.comparing(ItemRequest::getCreated).thenComparing(ItemRequest::getId).reversed());
+        return new ItemRequestFeedPage(getItemRequestsDtoWithItemsFromRequests(requests), null,
+                next.capSeen(feedMaxSeen).encode());
+    }
+
+    private ItemRequestCursor latestCursor(long requestorId, ItemRequest newest) {
+        LocalDateTime windowStart = newest.getCreated().minus(feedOverlapMs, ChronoUnit.MILLIS);
+        Set<Long> seen = new HashSet<>(itemRequestRepository.findFeedIdsBetween(requestorId, windowStart,
+                newest.getCreated()));
+        seen.remove(newest.getId());
+        return ItemRequestCursor.of(newest).withSeen(seen).capSeen(feedMaxSeen);
+    }
+
+    @Override
+    @Transactional
     public ItemRequestOutput create(long requestorId, ItemRequestDto itemRequestDto) {
         if (!userRepository.existsById(requestorId)) {
             throw new NotFoundException("User with id = " + requestorId + " not found");
@@ -81,8 +184,46 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         User owner = userRepository.findById(requestorId).get();
         ItemRequest itemRequest = itemRequestDtoMapper.fromDtoInput(itemRequestDto, owner);
         itemRequestRepository.save(itemRequest);
+        requestMatcher.match(itemRequest);
+        ItemRequestOutput output = itemRequestDtoMapper.toDtoOutput(itemRequest, null);
+        eventStreamHub.publishToAllExcept(EventStream.REQUESTS, requestorId, output);
+
+        return output;
+    }
 
-        return itemRequestDtoMapper.toDtoOutput(itemRequest, null);
+    @Override
+    public Stream<BatchResult> createBatch(long requestorId, List<ItemRequestDto> requests) {
+        if (!userRepository.existsById(requestorId)) {
+            throw new NotFoundException("User with id = " + requestorId + " not found");
+        }
+        if (requests.size() > batchMaxSize) {
+            throw new ValidateException("Batch size exceeds " + batchMaxSize);
+        }
+        return ChunkedBatch.run(requests, batchChunkSize,
+                (offset, chunk) -> itemRequestBatchImporter.importChunk(requestorId, offset, chunk));
+    }
+
+    @Override
+    public SseEmitter subscribe(long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User with id = " + userId + " not found");
+        }
+        return eventStreamHub.subscribe(EventStream.REQUESTS, userId);
+    }
+
+    @Override
+    public List<RequestMatchDto> getMatches(long ownerId, int from, int size) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new NotFoundException("User with id = " + ownerId + " not found");
+        }
+        return requestMatchRepository.findByOwnerId(ownerId, PageRequest.of(from / size, size)).stream()
+                .map(match -> {
+                    ItemRequest request = match.getRequest();
+                    return new RequestMatchDto(request.getId(), request.getDescription(),
+                            new UserDtoIdAndName(request.getRequestor().getId(), request.getRequestor().getName()),
+                            request.getCreated(), match.getScore());
+                })
+                .collect(toList());
     }
 
     private List<ItemRequestOutput> getItemRequestsDtoWithItemsFromRequests(List<ItemRequest> requests) {
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.sse;
+
+public enum EventStream {
+    REQUESTS("request"),
+    BOOKINGS("booking");
+
+    private final String eventName;
+
+    EventStream(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+}
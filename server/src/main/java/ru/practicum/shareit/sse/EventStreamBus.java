@@ -0,0 +1,10 @@
+package ru.practicum.shareit.sse;
+
+import java.util.function.Consumer;
+
+public interface EventStreamBus {
+
+    void send(EventStreamMessage message);
+
+    void subscribe(Consumer<EventStreamMessage> receiver);
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.sse;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.sse.transport", havingValue = "postgres", matchIfMissing = true)
+public class EventStreamHealthIndicator implements HealthIndicator {
+
+    private final PostgresEventStreamBus bus;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = bus.isListening() ? Health.up() : Health.down();
+        return builder.withDetail("channel", PostgresEventStreamBus.CHANNEL).build();
+    }
+}
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static ru.practicum.shareit.common.TransactionCallbacks.afterCommit;
+
+@Slf4j
+@Component
+public class EventStreamHub {
+
+    private final Map<EventStream, Map<Long, Set<Subscription>>> subscribers = new EnumMap<>(EventStream.class);
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+    private final EventStreamBus bus;
+    private final ObjectMapper objectMapper;
+    private final Counter slowDropped;
+    private final long timeoutMs;
+    private final long heartbeatIntervalMs;
+    private final int maxSubscriptionsPerUser;
+    private final int queueCapacity;
+
+    public EventStreamHub(EventStreamBus bus,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${shareit.sse.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${shareit.sse.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+                          @Value("${shareit.sse.max-subscriptions-per-user:5}") int maxSubscriptionsPerUser,
+                          @Value("${shareit.sse.queue-capacity:64}") int queueCapacity,
+                          @Value("${shareit.sse.sender-threads:4}") int senderThreads) {
+        this.bus = bus;
+        this.objectMapper = objectMapper;
+        this.slowDropped = meterRegistry.counter("shareit.sse.dropped", "reason", "slow");
+        this.timeoutMs = timeoutMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.maxSubscriptionsPerUser = maxSubscriptionsPerUser;
+        this.queueCapacity = queueCapacity;
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "event-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (EventStream stream : EventStream.values()) {
+            subscribers.put(stream, new ConcurrentHashMap<>());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        bus.subscribe(this::deliver);
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(byUser -> byUser.values().forEach(subscriptions ->
+                subscriptions.forEach(subscription -> subscription.emitter.complete())));
+    }
+
+    public SseEmitter subscribe(EventStream stream, long userId) {
+        Subscription subscription = new Subscription(stream, userId, new SseEmitter(timeoutMs));
+        List<Subscription> evicted = new ArrayList<>();
+        subscribers.get(stream).compute(userId, (id, subscriptions) -> {
+            Set<Subscription> current = subscriptions == null ? new CopyOnWriteArraySet<>() : subscriptions;
+            Iterator<Subscription> oldest = current.iterator();
+            while (current.size() - evicted.size() >= maxSubscriptionsPerUser && oldest.hasNext()) {
+                evicted.add(oldest.next());
+            }
+            current.removeAll(evicted);
+            current.add(subscription);
+            return current;
+        });
+        evicted.forEach(old -> old.emitter.complete());
+        Runnable remove = () -> remove(subscription);
+        subscription.emitter.onCompletion(remove);
+        subscription.emitter.onTimeout(remove);
+        subscription.emitter.onError(e -> remove.run());
+        log.debug("Subscribed to event stream {} {}", kv("stream", stream), kv("userId", userId));
+        return subscription.emitter;
+    }
+
+    public void publish(EventStream stream, Collection<Long> recipients, Object payload) {
+        publish(new EventStreamMessage(null, stream, Set.copyOf(recipients), null, serialize(payload)));
+    }
+
+    public void publishToAllExcept(EventStream stream, long excluded, Object payload) {
+        publish(new EventStreamMessage(null, stream, null, excluded, serialize(payload)));
+    }
+
+    public int subscriberCount(EventStream stream) {
+        return subscribers.get(stream).values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void publish(EventStreamMessage message) {
+        afterCommit(() -> {
+            try {
+                bus.send(message);
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish event {}", kv("stream", message.getStream()), e);
+            }
+        });
+    }
+
+    private void deliver(EventStreamMessage message) {
+        EventStream stream = message.getStream();
+        subscribers.get(stream).forEach((userId, subscriptions) -> {
+            if (message.isFor(userId)) {
+                subscriptions.forEach(subscription -> enqueue(subscription, SseEmitter.event()
+                        .name(stream.getEventName())
+                        .data(message.getPayload(), MediaType.APPLICATION_JSON)));
+            }
+        });
+    }
+
+    private void heartbeat() {
+        subscribers.values().forEach(byUser -> byUser.values().forEach(subscriptions ->
+                subscriptions.forEach(subscription -> enqueue(subscription, SseEmitter.event().comment("ping")))));
+    }
+
+    private void enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        if (!subscription.queue.offer(event)) {
+            log.debug("Dropping slow event stream subscriber {} {}", kv("stream", subscription.stream),
+                    kv("userId", subscription.userId));
+            slowDropped.increment();
+            remove(subscription);
+            subscription.emitter.complete();
+            return;
+        }
+        if (subscription.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscription.queue.poll()) != null) {
+                if (!send(subscription, event)) {
+                    subscription.queue.clear();
+                    return;
+                }
+            }
+            subscription.draining.set(false);
+        } while (!subscription.queue.isEmpty() && subscription.draining.compareAndSet(false, true));
+    }
+
+    private boolean send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping event stream subscriber {} {}", kv("stream", subscription.stream),
+                    kv("userId", subscription.userId));
+            remove(subscription);
+            subscription.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscribers.get(subscription.stream).computeIfPresent(subscription.userId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event", e);
+        }
+    }
+
+    private final class Subscription {
+        private final EventStream stream;
+        private final long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscription(EventStream stream, long userId, SseEmitter emitter) {
+            this.stream = stream;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.sse;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventStreamMessage {
+    private String origin;
+    private EventStream stream;
+    private Set<Long> recipients;
+    private Long excluded;
+    private String payload;
+
+    public boolean isFor(long userId) {
+        return (recipients == null || recipients.contains(userId)) && (excluded == null || excluded != userId);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.sse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "shareit.sse.transport", havingValue = "loopback")
+public class LoopbackEventStreamBus implements EventStreamBus {
+
+    private final List<Consumer<EventStreamMessage>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(EventStreamMessage message) {
+        receivers.forEach(receiver -> receiver.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<EventStreamMessage> receiver) {
+        receivers.add(receiver);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.PostgresNotificationListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.sse.transport", havingValue = "postgres", matchIfMissing = true)
+public class PostgresEventStreamBus implements EventStreamBus {
+
+    static final String CHANNEL = "shareit_event_stream";
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<EventStreamMessage>> receivers = new CopyOnWriteArrayList<>();
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final PostgresNotificationListener listener;
+
+    public PostgresEventStreamBus(DataSource dataSource,
+                                  DataSourceProperties dataSourceProperties,
+                                  ObjectMapper objectMapper,
+                                  @Value("${shareit.sse.poll-timeout-ms:500}") int pollTimeoutMs,
+                                  @Value("${shareit.sse.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.listener = new PostgresNotificationListener("event-stream-listener", dataSourceProperties, CHANNEL,
+                pollTimeoutMs, reconnectDelayMs, () -> { }, this::receive);
+    }
+
+    @PostConstruct
+    public void startListening() {
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        listener.stop();
+    }
+
+    @Override
+    public void send(EventStreamMessage message) {
+        message.setOrigin(nodeId);
+        deliver(message);
+        String payload = serialize(message);
+        int bytes = payload.getBytes(StandardCharsets.UTF_8).length;
+        if (bytes > MAX_PAYLOAD_BYTES) {
+            log.warn("Event too large to fan out, delivered locally only {} {}", kv("stream", message.getStream()),
+                    kv("bytes", bytes));
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to notify " + CHANNEL, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<EventStreamMessage> receiver) {
+        receivers.add(receiver);
+    }
+
+    public boolean isListening() {
+        return listener.isListening();
+    }
+
+    private void receive(String payload) {
+        try {
+            EventStreamMessage message = objectMapper.readValue(payload, EventStreamMessage.class);
+            if (!nodeId.equals(message.getOrigin())) {
+                deliver(message);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed event stream message {}", kv("payload", payload));
+        }
+    }
+
+    private void deliver(EventStreamMessage message) {
+        receivers.forEach(receiver -> receiver.accept(message));
+    }
+
+    private String serialize(EventStreamMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event stream message", e);
+        }
+    }
+}
@@ -1,22 +1,46 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.CursorPage;
+import ru.practicum.shareit.common.NdjsonWriter;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.validation.constraints.Positive;
 import java.util.List;
+import java.util.stream.Stream;
 
+@Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
 public class UserController {
 
     private final UserService userService;
+    private final NdjsonWriter ndjsonWriter;
 
     @GetMapping
-    public List<UserDto> getAll() {
-        return userService.getAll();
+    public ResponseEntity<List<UserDto>> getAll(@RequestParam(required = false) Long cursor,
+                                                @RequestParam(defaultValue = "100") @Positive int size) {
+        CursorPage<UserDto> page = userService.getAll(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.CONTENT_TYPE))
+                .body(userService::streamAll);
     }
 
     @GetMapping("/{id}")
@@ -29,6 +53,14 @@ public class UserController {
         return userService.create(userDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> createBatch(@RequestBody List<UserDto> users) {
+        Stream<BatchResult> results = userService.createBatch(users);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonWriter.CONTENT_TYPE))
+                .body(out -> ndjsonWriter.write(results, BatchResult.class, out));
+    }
+
     @PatchMapping("/{id}")
     public UserDto patch(@PathVariable long id, @RequestBody UserDto userDto) {
         return userService.update(id, userDto);
@@ -39,6 +71,11 @@ public class UserController {
         userService.deleteById(id);
     }
 
+    @DeleteMapping("/{id}/data")
+    public void deleteWithData(@PathVariable long id) {
+        userService.deleteWithData(id);
+    }
+
     @DeleteMapping
     public void deleteAll() {
         userService.deleteAll();
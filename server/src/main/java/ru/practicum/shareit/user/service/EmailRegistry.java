@@ -0,0 +1,132 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.BloomFilter;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+public class EmailRegistry {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter skipped;
+    private final Counter lookedUp;
+    private final Counter falsePositives;
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private final AtomicLong removed = new AtomicLong();
+
+    public EmailRegistry(UserRepository userRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${shareit.users.email-filter.enabled:true}") boolean enabled,
+                         @Value("${shareit.users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                         @Value("${shareit.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.skipped = meterRegistry.counter("shareit.users.email_filter", "result", "negative");
+        this.lookedUp = meterRegistry.counter("shareit.users.email_filter", "result", "positive");
+        this.falsePositives = meterRegistry.counter("shareit.users.email_filter", "result", "false_positive");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${shareit.users.email-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${shareit.users.email-filter.rebuild-interval-ms:3600000}")
+    @Transactional
+    public void rebuild() {
+        if (!enabled || filter != null && removed.get() == 0) {
+            return;
+        }
+        removed.set(0);
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = next;
+        long count = 0;
+        try (Stream<String> emails = userRepository.streamEmails()) {
+            for (String email : (Iterable<String>) emails::iterator) {
+                next.put(email);
+                count++;
+            }
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Rebuilt email filter", kv("emails", count), kv("bits", next.bitSize()),
+                kv("hashes", next.hashCount()));
+    }
+
+    public boolean isTaken(String email) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(email)) {
+            skipped.increment();
+            return false;
+        }
+        lookedUp.increment();
+        boolean taken = userRepository.existsByEmail(email);
+        if (!taken && current != null) {
+            falsePositives.increment();
+        }
+        return taken;
+    }
+
+    public Set<String> findTaken(Collection<String> emails) {
+        BloomFilter current = filter;
+        List<String> candidates = current == null
+                ? new ArrayList<>(emails)
+                : emails.stream().filter(current::mightContain).collect(Collectors.toList());
+        skipped.increment(emails.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        lookedUp.increment(candidates.size());
+        Set<String> taken = new HashSet<>(userRepository.findEmailsByEmailIn(candidates));
+        if (current != null) {
+            falsePositives.increment(candidates.size() - taken.size());
+        }
+        return taken;
+    }
+
+    public void remove() {
+        removed.incrementAndGet();
+    }
+
+    public void clear() {
+        if (enabled) {
+            filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+            removed.set(0);
+        }
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(email);
+        }
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.JdbcBatchInserter;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static ru.practicum.shareit.common.TransactionCallbacks.afterCommit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserBatchImporter {
+
+    private static final String INSERT_USER = "insert into users (name, email) values (?, ?)";
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final EmailRegistry emailRegistry;
+    private final JdbcBatchInserter jdbcBatchInserter;
+
+    @Transactional
+    public List<BatchResult> importChunk(int offset, List<UserDto> users, Set<String> seenEmails) {
+        List<BatchResult> results = new ArrayList<>(users.size());
+        List<UserDto> candidates = new ArrayList<>();
+        List<BatchResult> candidateResults = new ArrayList<>();
+        Set<String> chunkEmails = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            UserDto user = users.get(i);
+            String error = validate(user);
+            if (error == null && (seenEmails.contains(user.getEmail()) || !chunkEmails.add(user.getEmail()))) {
+                error = "Duplicate email " + user.getEmail() + " in batch";
+            }
+            BatchResult result = new BatchResult(offset + i, null, error);
+            results.add(result);
+            if (error == null) {
+                candidates.add(user);
+                candidateResults.add(result);
+            }
+        }
+
+        Set<String> taken = emailRegistry.findTaken(candidates.stream().map(UserDto::getEmail)
+                .collect(Collectors.toList()));
+        List<UserDto> inserts = new ArrayList<>(candidates.size());
+        List<BatchResult> insertResults = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            UserDto user = candidates.get(i);
+            if (taken.contains(user.getEmail())) {
+                candidateResults.get(i).setError("Email " + user.getEmail() + " is already in use");
+            } else {
+                inserts.add(user);
+                insertResults.add(candidateResults.get(i));
+            }
+        }
+
+        List<Long> ids = jdbcBatchInserter.insert(INSERT_USER, inserts, (statement, user) -> {
+            statement.setString(1, user.getName());
+            statement.setString(2, user.getEmail());
+        });
+        List<String> inserted = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            insertResults.get(i).setId(ids.get(i));
+            inserted.add(inserts.get(i).getEmail());
+            emailRegistry.add(inserts.get(i).getEmail());
+        }
+        afterCommit(() -> seenEmails.addAll(inserted));
+        log.debug("Imported users chunk {} {} {}", kv("offset", offset), kv("rows", users.size()),
+                kv("inserted", ids.size()));
+        return results;
+    }
+
+    private static String validate(UserDto user) {
+        if (user == null) {
+            return "User is required";
+        }
+        if (user.getName() == null || user.getName().isBlank()) {
+            return "name: must not be blank";
+        }
+        if (user.getEmail() == null || user.getEmail().isBlank()) {
+            return "email: must not be blank";
+        }
+        if (!EMAIL.matcher(user.getEmail()).matches()) {
+            return "email: must be a well-formed email address";
+        }
+        return null;
+    }
+}
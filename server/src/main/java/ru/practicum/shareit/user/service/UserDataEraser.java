@@ -0,0 +1,116 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.CacheInvalidationBus;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.common.ItemLockManager;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.comments.CommentRepository;
+import ru.practicum.shareit.item.comments.CompletedRentalCache;
+import ru.practicum.shareit.item.dashboard.OwnerDashboardProjector;
+import ru.practicum.shareit.item.dto.ItemEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.request.matching.RequestMatchRepository;
+import ru.practicum.shareit.request.matching.RequestMatcher;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserDataEraser {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final RequestMatchRepository requestMatchRepository;
+    private final OwnerDashboardProjector ownerDashboardProjector;
+    private final RequestMatcher requestMatcher;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final CompletedRentalCache completedRentalCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final OutboxWriter outboxWriter;
+    private final ItemLockManager itemLockManager;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void erase(long userId) {
+        List<Long> ownedItemIds = itemRepository.findIdsByOwnerId(userId);
+        Set<Long> bookedItemIds = new HashSet<>(bookingRepository.findItemIdsByBookerId(userId));
+        ownedItemIds.forEach(bookedItemIds::remove);
+        List<Long> commentedItemIds = commentRepository.findCommentedItemIds(userId);
+        List<Long> requestIds = itemRequestRepository.findIdsByRequestorId(userId);
+        List<Long> requestedItemIds = itemRepository.findIdsByRequestRequestorId(userId);
+        Set<Long> lockedItemIds = new HashSet<>(ownedItemIds);
+        lockedItemIds.addAll(bookedItemIds);
+        itemLockManager.lockItems(lockedItemIds);
+
+        int comments = commentRepository.deleteByAuthorOrItemOwner(userId);
+        int bookings = bookingRepository.deleteByBookerOrItemOwner(userId);
+        itemRepository.detachFromRequestsOf(userId);
+        int items = itemRepository.deleteByOwnerId(userId);
+        requestMatcher.removeOwner(userId);
+        ownerDashboardProjector.onOwnerDeleted(userId);
+        int requests = itemRequestRepository.deleteByRequestorId(userId);
+        userRepository.deleteInBulkById(userId);
+
+        if (!commentedItemIds.isEmpty()) {
+            itemRepository.recountComments(commentedItemIds);
+            commentedItemIds.forEach(itemId -> cacheInvalidationBus.invalidate(CacheRegion.ITEMS, itemId));
+        }
+        ownerDashboardProjector.onCommentsDeleted(commentedItemIds);
+        if (!bookedItemIds.isEmpty()) {
+            ownerDashboardProjector.onBookerDeleted(userId);
+            for (long itemId : bookedItemIds) {
+                itemAvailabilityIndex.evict(itemId);
+                cacheInvalidationBus.invalidate(CacheRegion.AVAILABILITY, itemId);
+            }
+        }
+        for (long itemId : ownedItemIds) {
+            itemAvailabilityIndex.evict(itemId);
+            completedRentalCache.evictItem(itemId);
+            cacheInvalidationBus.invalidate(CacheRegion.ITEMS, itemId);
+            cacheInvalidationBus.invalidate(CacheRegion.AVAILABILITY, itemId);
+            outboxWriter.record(OutboxEventType.ITEM_DELETED, itemId, itemId,
+                    new ItemEvent(itemId, userId, null, null, null));
+        }
+        requestedItemIds.forEach(itemId -> cacheInvalidationBus.invalidate(CacheRegion.ITEMS, itemId));
+        requestIds.forEach(requestId -> cacheInvalidationBus.invalidate(CacheRegion.REQUESTS, requestId));
+        cacheInvalidationBus.invalidate(CacheRegion.USERS, userId);
+        log.info("Erased user data {} {} {} {} {}", kv("userId", userId), kv("items", items), kv("requests", requests),
+                kv("bookings", bookings), kv("comments", comments));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eraseAll() {
+        commentRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        itemRepository.deleteAllInBatch();
+        requestMatchRepository.deleteAllInBatch();
+        itemRequestRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        requestMatcher.removeAllItems();
+        ownerDashboardProjector.onAllItemsDeleted();
+        itemAvailabilityIndex.evictAll();
+        completedRentalCache.clear();
+        cacheInvalidationBus.invalidateAll(CacheRegion.ITEMS);
+        cacheInvalidationBus.invalidateAll(CacheRegion.AVAILABILITY);
+        cacheInvalidationBus.invalidateAll(CacheRegion.REQUESTS);
+        cacheInvalidationBus.invalidateAll(CacheRegion.USERS);
+    }
+}
@@ -1,19 +1,30 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserService {
-    List<UserDto> getAll();
+    CursorPage<UserDto> getAll(Long cursor, int size);
+
+    void streamAll(OutputStream out) throws IOException;
 
     UserDto getById(long id);
 
     UserDto create(UserDto userDto);
 
+    Stream<BatchResult> createBatch(List<UserDto> users);
+
     UserDto update(long id, UserDto userDto);
 
     void deleteById(long id);
 
+    void deleteWithData(long id);
+
     void deleteAll();
 }
@@ -4,81 +4,178 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.cache.CacheInvalidationBus;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.common.ChunkedBatch;
+import ru.practicum.shareit.common.CursorPage;
+import ru.practicum.shareit.common.NdjsonWriter;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static ru.practicum.shareit.common.TransactionCallbacks.afterCommit;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final NdjsonWriter ndjsonWriter;
+    private final EmailRegistry emailRegistry;
+    private final UserBatchImporter userBatchImporter;
+    private final UserDataEraser userDataEraser;
     private final UserMapper userMapper = new UserMapperImpl();
 
+    @Value("${shareit.batch.chunk-size:500}")
+    private int batchChunkSize;
+    @Value("${shareit.batch.max-size:10000}")
+    private int batchMaxSize;
+
+    @Override
+    public CursorPage<UserDto> getAll(Long cursor, int size) {
+        log.debug("Request GET to /users", kv("cursor", cursor), kv("size", size));
+        if (size <= 0) {
+            throw new ValidateException("size is not positive");
+        }
+        List<User> users = userRepository.findByIdGreaterThanOrderById(cursor == null ? 0 : cursor,
+                PageRequest.of(0, size + 1));
+        Long nextCursor = null;
+        if (users.size() > size) {
+            users = users.subList(0, size);
+            nextCursor = users.get(size - 1).getId();
+        }
+        return new CursorPage<>(users.stream().map(userMapper::toDto).collect(Collectors.toList()), nextCursor);
+    }
+
     @Override
-    public List<UserDto> getAll() {
-        log.debug("Request GET to /users");
-        return userRepository.findAll()
-                .stream()
-                .map(userMapper::toDto)
-                .collect(Collectors.toList());
+    public void streamAll(OutputStream out) throws IOException {
+        log.debug("Request GET to /users/stream");
+        try (Stream<UserDto> users = userRepository.streamAll()) {
+            ndjsonWriter.write(users, UserDto.class, out);
+        }
     }
 
     @Override
     public UserDto getById(long id) {
-        log.debug("Request GET to /users/{}", id);
+        log.debug("Request GET to /users {}", kv("id", id));
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("User with id = " + id + " is not found"));
         return userMapper.toDto(user);
     }
 
     @Override
+    @Transactional
     public UserDto create(UserDto userDto) {
-        log.debug("Request POST to /users, with id = {}, name = {}, email = {}",
-                userDto.getId(), userDto.getName(), userDto.getEmail());
+        log.debug("Request POST to /users", kv("id", userDto.getId()), kv("name", userDto.getName()),
+                kv("email", userDto.getEmail()));
+        checkEmailIsFree(userDto.getEmail());
         User user = userMapper.fromDto(userDto);
-        return userMapper.toDto(userRepository.save(user));
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Email " + userDto.getEmail() + " is already in use");
+        }
+        emailRegistry.add(user.getEmail());
+        return userMapper.toDto(user);
     }
 
-    @Transactional
     @Override
+    public Stream<BatchResult> createBatch(List<UserDto> users) {
+        log.debug("Request POST to /users/batch", kv("rows", users.size()));
+        if (users.size() > batchMaxSize) {
+            throw new ValidateException("Batch size exceeds " + batchMaxSize);
+        }
+        Set<String> seenEmails = new HashSet<>();
+        return ChunkedBatch.run(users, batchChunkSize,
+                (offset, chunk) -> userBatchImporter.importChunk(offset, chunk, seenEmails));
+    }
+
+    @Override
+    @Transactional
     public UserDto update(long id, UserDto userDto) {
-        log.debug("Request PATCH to /users, with id = {}", id);
+        log.debug("Request PATCH to /users {}", kv("id", id));
         User user = userRepository.findById(id)
                 .orElseThrow(() ->
                         new NotFoundException("User with id = " + id + " not found"));
         userDto.setId(id);
-        return userMapper.toDto(update(userDto, user));
+        cacheInvalidationBus.invalidate(CacheRegion.USERS, id);
+        user = update(userDto, user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Email " + user.getEmail() + " is already in use");
+        }
+        return userMapper.toDto(user);
     }
 
     @Override
+    @Transactional
     public void deleteById(long id) {
-        log.debug("Request DELETE to /users/{}", id);
+        log.debug("Request DELETE to /users {}", kv("id", id));
         userRepository.deleteById(id);
+        cacheInvalidationBus.invalidate(CacheRegion.USERS, id);
+        afterCommit(emailRegistry::remove);
+    }
+
+    @Override
+    @Transactional
+    public void deleteWithData(long id) {
+        log.debug("Request DELETE to /users/data {}", kv("id", id));
+        if (!userRepository.existsById(id)) {
+            throw new NotFoundException("User with id = " + id + " is not found");
+        }
+        userDataEraser.erase(id);
+        afterCommit(emailRegistry::remove);
     }
 
     @Override
+    @Transactional
     public void deleteAll() {
         log.debug("Request DELETE to /users)");
-        userRepository.deleteAll();
+        userDataEraser.eraseAll();
+        afterCommit(emailRegistry::clear);
     }
 
     private User update(UserDto userDto, User user) {
         if (userDto.getName() != null && !userDto.getName().isBlank()) {
             user.setName(userDto.getName());
         }
-        if (userDto.getEmail() != null && !userDto.getEmail().isBlank()) {
+        if (userDto.getEmail() != null && !userDto.getEmail().isBlank()
+                && !userDto.getEmail().equals(user.getEmail())) {
+            checkEmailIsFree(userDto.getEmail());
             user.setEmail(userDto.getEmail());
+            emailRegistry.add(userDto.getEmail());
+            afterCommit(emailRegistry::remove);
         }
         return user;
     }
+
+    private void checkEmailIsFree(String email) {
+        if (email != null && emailRegistry.isTaken(email)) {
+            throw new ConflictException("Email " + email + " is already in use");
+        }
+    }
 }
\ No newline at end of file
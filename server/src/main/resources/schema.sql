@@ -1,4 +1,4 @@
-DROP TABLE IF EXISTS users, requests, items, bookings, comments;
+DROP TABLE IF EXISTS users, requests, items, bookings, comments, outbox_events, owner_dashboard, item_terms, request_matches;
 
 CREATE TABLE users
 (
@@ -26,6 +26,8 @@ CREATE TABLE items
     is_available BOOLEAN                                 NOT NULL,
     owner_id     BIGINT REFERENCES users (id),
     request_id   BIGINT REFERENCES requests (id),
+    version      BIGINT DEFAULT 0                        NOT NULL,
+    comments_count BIGINT DEFAULT 0                          NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (id)
 );
 
@@ -37,6 +39,7 @@ CREATE TABLE bookings
     item_id    BIGINT REFERENCES items (id),
     booker_id  BIGINT REFERENCES users (id),
     status     VARCHAR                                 NOT NULL,
+    version    BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_booking PRIMARY KEY (id)
 );
 
@@ -48,4 +51,72 @@ CREATE TABLE comments
     author_id BIGINT REFERENCES users (id),
     created TIMESTAMP WITHOUT TIME ZONE,
     CONSTRAINT pk_comment PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+
+CREATE TABLE outbox_events
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    aggregate_type VARCHAR(32)                             NOT NULL,
+    aggregate_id   BIGINT                                  NOT NULL,
+    partition_key  BIGINT                                  NOT NULL,
+    event_type     VARCHAR(64)                             NOT NULL,
+    payload        VARCHAR                                 NOT NULL,
+    created        TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    status         VARCHAR(16) DEFAULT 'PENDING'           NOT NULL,
+    attempts       INTEGER DEFAULT 0                       NOT NULL,
+    last_error     VARCHAR,
+    next_attempt_at TIMESTAMP WITHOUT TIME ZONE,
+    dead_at        TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+);
+
+CREATE TABLE owner_dashboard
+(
+    item_id                  BIGINT                      NOT NULL,
+    owner_id                 BIGINT                      NOT NULL,
+    item_name                VARCHAR(255)                NOT NULL,
+    item_description         VARCHAR                     NOT NULL,
+    item_available           BOOLEAN                     NOT NULL,
+    last_booking_id          BIGINT,
+    last_booking_booker_id   BIGINT,
+    last_booking_end         TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id          BIGINT,
+    next_booking_booker_id   BIGINT,
+    next_booking_end         TIMESTAMP WITHOUT TIME ZONE,
+    refresh_at               TIMESTAMP WITHOUT TIME ZONE,
+    comments_count           BIGINT DEFAULT 0            NOT NULL,
+    last_comment_id          BIGINT,
+    last_comment_text        VARCHAR,
+    last_comment_author_name VARCHAR(255),
+    last_comment_created     TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_owner_dashboard PRIMARY KEY (item_id)
+);
+
+CREATE TABLE item_terms
+(
+    term     VARCHAR(64) NOT NULL,
+    item_id  BIGINT      NOT NULL,
+    owner_id BIGINT      NOT NULL,
+    CONSTRAINT pk_item_term PRIMARY KEY (term, item_id)
+);
+
+CREATE TABLE request_matches
+(
+    request_id BIGINT NOT NULL REFERENCES requests (id) ON DELETE CASCADE,
+    owner_id   BIGINT NOT NULL,
+    score      BIGINT NOT NULL,
+    CONSTRAINT pk_request_match PRIMARY KEY (request_id, owner_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_status_start ON bookings (status, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_period ON bookings (item_id, status, start_date, end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_item_end ON bookings (booker_id, item_id, end_date);
+CREATE INDEX IF NOT EXISTS ix_requests_created_id_requestor ON requests (created, id, requestor_id);
+CREATE INDEX IF NOT EXISTS ix_outbox_events_status_id ON outbox_events (status, id);
+CREATE INDEX IF NOT EXISTS ix_outbox_events_partition_key_id ON outbox_events (partition_key, id);
+CREATE INDEX IF NOT EXISTS ix_comments_item_id ON comments (item_id, id);
+CREATE INDEX IF NOT EXISTS ix_owner_dashboard_owner ON owner_dashboard (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS ix_owner_dashboard_refresh ON owner_dashboard (refresh_at);
+CREATE INDEX IF NOT EXISTS ix_item_terms_term_owner ON item_terms (term, owner_id);
+CREATE INDEX IF NOT EXISTS ix_item_terms_item ON item_terms (item_id);
+CREATE INDEX IF NOT EXISTS ix_request_matches_owner ON request_matches (owner_id, score, request_id);
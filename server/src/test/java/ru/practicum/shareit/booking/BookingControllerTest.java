@@ -8,6 +8,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
 import ru.practicum.shareit.exception.AccessException;
@@ -20,6 +23,7 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDtoIdAndName;
 
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,7 +31,9 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -180,6 +186,32 @@ class BookingControllerTest {
                 .updateStatusOfBooking(2L, 4L, true);
     }
 
+    @Test
+    void shouldUpdateStatuses() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(4L, true),
+                new BookingDecisionDto(5L, false));
+        Mockito
+                .when(bookingService.updateStatusesOfBookings(anyLong(), anyList()))
+                .thenReturn(List.of(new BookingDecisionResult(4L, Status.APPROVED, null),
+                        new BookingDecisionResult(5L, null, "Booking with this id is not found")));
+
+        mvc.perform(
+                        patch("/bookings/owner/bulk")
+                                .header("X-Sharer-User-Id", userIrina.getId())
+                                .content(mapper.writeValueAsString(decisions))
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId", is(4L), Long.class))
+                .andExpect(jsonPath("$[0].status", is(Status.APPROVED.name())))
+                .andExpect(jsonPath("$[1].bookingId", is(5L), Long.class))
+                .andExpect(jsonPath("$[1].error", is("Booking with this id is not found")));
+
+        Mockito.verify(bookingService, Mockito.times(1))
+                .updateStatusesOfBookings(2L, decisions);
+    }
+
     @Test
     void shouldReturnById() throws Exception {
         Mockito
@@ -260,4 +292,55 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].booker.name", is(bookingDto.getBooker().getName())))
                 .andExpect(jsonPath("$.[0].status", is(bookingDto.getStatus().name())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldExportByOwner() throws Exception {
+        Mockito
+                .doAnswer(invocation -> {
+                    invocation.getArgument(2, OutputStream.class)
+                            .write("{\"id\":4}\n".getBytes(StandardCharsets.UTF_8));
+                    return null;
+                })
+                .when(bookingService).exportByOwner(eq(2L), eq(ExportFormat.NDJSON), any());
+
+        MvcResult result = mvc.perform(
+                        get("/bookings/owner/export")
+                                .header("X-Sharer-User-Id", userIrina.getId())
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":4}\n"));
+    }
+
+    @Test
+    void exportByOwner_shouldReturnNotFoundIfUserNotExist() throws Exception {
+        Mockito
+                .doThrow(new NotFoundException("User with this id is not found"))
+                .when(bookingService).exportByOwner(eq(99L), eq(ExportFormat.CSV), any());
+
+        MvcResult result = mvc.perform(
+                        get("/bookings/owner/export")
+                                .header("X-Sharer-User-Id", 99L)
+                                .param("format", "csv")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportByOwner_shouldFailOnUnknownFormat() throws Exception {
+        mvc.perform(
+                        get("/bookings/owner/export")
+                                .header("X-Sharer-User-Id", userIrina.getId())
+                                .param("format", "xml")
+                )
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest
+@SqlGroup({
+        @Sql(value = {"before-concurrent-approval.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"after-concurrent-approval.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingApprovalConcurrencyTest {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void shouldApproveOnlyOneOfOverlappingBookings() throws Exception {
+        List<Callable<Void>> approvals = LongStream.range(10, 18)
+                .mapToObj(id -> (Callable<Void>) () -> {
+                    bookingService.updateStatusOfBooking(1L, id, true);
+                    return null;
+                })
+                .collect(Collectors.toList());
+
+        List<Throwable> failures = runConcurrently(approvals);
+
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == Status.APPROVED)
+                .collect(Collectors.toList());
+        assertThat(approved).hasSize(1);
+        assertThat(failures).hasSize(7).allMatch(ConflictException.class::isInstance);
+    }
+
+    @Test
+    void shouldApplyConcurrentDecisionsOnSameBookingOneAfterAnother() throws Exception {
+        List<Callable<Void>> decisions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            boolean approved = i % 2 == 0;
+            decisions.add(() -> {
+                bookingService.updateStatusOfBooking(1L, 10L, approved);
+                return null;
+            });
+        }
+
+        List<Throwable> failures = runConcurrently(decisions);
+
+        Booking booking = bookingRepository.findById(10L).orElseThrow();
+        assertThat(booking.getStatus()).isIn(Status.APPROVED, Status.REJECTED);
+        assertThat(booking.getVersion()).isEqualTo(8 - failures.size());
+        assertThat(failures).allMatch(e -> e instanceof IllegalArgumentException || e instanceof ConflictException);
+    }
+
+    private static List<Throwable> runConcurrently(List<Callable<Void>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+        return failures;
+    }
+}
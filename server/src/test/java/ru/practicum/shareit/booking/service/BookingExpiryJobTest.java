@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventRepository;
+import ru.practicum.shareit.outbox.OutboxEventType;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest(properties = "shareit.booking.expiry.batch-size=2")
+@SqlGroup({
+        @Sql(value = {"before-stale-waiting-bookings.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"after-concurrent-approval.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExpiryJobTest {
+
+    private final BookingExpiryJob bookingExpiryJob;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void shouldExpireWaitingBookingsThatHaveStarted() {
+        bookingExpiryJob.expireWaitingBookings();
+
+        Map<Long, Status> statuses = bookingRepository.findAll().stream()
+                .collect(Collectors.toMap(Booking::getId, Booking::getStatus));
+        assertThat(statuses).containsEntry(10L, Status.EXPIRED)
+                .containsEntry(11L, Status.EXPIRED)
+                .containsEntry(12L, Status.APPROVED)
+                .containsEntry(13L, Status.EXPIRED)
+                .containsEntry(14L, Status.WAITING);
+    }
+
+    @Test
+    void shouldRecordStatusChangeForEachExpiredBooking() {
+        bookingExpiryJob.expireWaitingBookings();
+
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(event -> event.getEventType() == OutboxEventType.BOOKING_STATUS_CHANGED)
+                .extracting(OutboxEvent::getAggregateId)
+                .containsExactlyInAnyOrder(10L, 11L, 13L);
+    }
+
+    @Test
+    void shouldNotApproveExpiredBooking() {
+        bookingExpiryJob.expireWaitingBookings();
+
+        assertThrows(ConflictException.class, () -> bookingService.updateStatusOfBooking(1L, 10L, true));
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest
+@SqlGroup({
+        @Sql(value = {"before-hot-items.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"after-concurrent-approval.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingHotItemsStressTest {
+
+    private static final int THREADS = 64;
+    private static final int ITEMS = 10;
+    private static final int ROUNDS = 5;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    void shouldApproveOneBookingPerItemUnderContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            long itemId = thread % ITEMS + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int round = 0; round < ROUNDS; round++) {
+                    bookAndApprove(itemId);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new AssertionError("Unexpected failure", e.getCause());
+            }
+        }
+        executor.shutdown();
+
+        Map<Long, Long> approvedByItem = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == Status.APPROVED)
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.counting()));
+        assertThat(approvedByItem).hasSize(ITEMS).allSatisfy((itemId, approved) -> assertThat(approved).isOne());
+    }
+
+    private void bookAndApprove(long itemId) {
+        LocalDateTime start = LocalDateTime.of(2100, 1, 1, 12, 0);
+        Booking booking;
+        try {
+            long id = bookingService.create(2L, new BookingDtoInput(start, start.plusDays(3), itemId)).getId();
+            booking = bookingRepository.findById(id).orElseThrow();
+        } catch (ConflictException e) {
+            return;
+        }
+        try {
+            bookingService.updateStatusOfBooking(1L, booking.getId(), true);
+        } catch (ConflictException e) {
+            bookingService.updateStatusOfBooking(1L, booking.getId(), false);
+        }
+    }
+}
@@ -7,15 +7,22 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.ExportFormat;
 import ru.practicum.shareit.booking.State;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.TimeException;
 import ru.practicum.shareit.exception.UnknownStateException;
+import ru.practicum.shareit.exception.ValidateException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -439,4 +446,86 @@ class BookingServiceImplTest {
 
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"before-with-waiting-bookings.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    })
+    void shouldUpdateStatusesOfBookings() {
+        List<BookingDecisionResult> results = bookingService.updateStatusesOfBookings(1L, List.of(
+                new BookingDecisionDto(7L, true),
+                new BookingDecisionDto(8L, true),
+                new BookingDecisionDto(9L, false),
+                new BookingDecisionDto(10L, true),
+                new BookingDecisionDto(7L, false),
+                new BookingDecisionDto(99L, true)
+        ));
+
+        assertThat(results).extracting(BookingDecisionResult::getBookingId)
+                .containsExactly(7L, 8L, 9L, 10L, 7L, 99L);
+        assertThat(results).extracting(BookingDecisionResult::getStatus)
+                .containsExactly(Status.APPROVED, Status.WAITING, Status.REJECTED, null, null, null);
+        assertNull(results.get(0).getError());
+        assertEquals("Item is already booked for this time", results.get(1).getError());
+        assertNull(results.get(2).getError());
+        assertEquals("Booking with this id is not found", results.get(3).getError());
+        assertEquals("Duplicate decision for booking", results.get(4).getError());
+        assertEquals("Booking with this id is not found", results.get(5).getError());
+        assertEquals(Status.APPROVED, bookingService.getById(1L, 7L).getStatus());
+        assertEquals(Status.WAITING, bookingService.getById(1L, 8L).getStatus());
+        assertEquals(Status.REJECTED, bookingService.getById(1L, 9L).getStatus());
+        assertEquals(Status.WAITING, bookingService.getById(1L, 10L).getStatus());
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"before-with-waiting-bookings.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    })
+    void updateStatuses_ShouldThrowExceptionIfDecisionsAreEmpty() {
+        assertThrows(
+                ValidateException.class,
+                () -> bookingService.updateStatusesOfBookings(1L, List.of())
+        );
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"before-with-waiting-bookings.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    })
+    void updateStatuses_ShouldThrowExceptionIfUserNotExist() {
+        assertThrows(
+                NotFoundException.class,
+                () -> bookingService.updateStatusesOfBookings(99L, List.of(new BookingDecisionDto(7L, true)))
+        );
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"before-with-waiting-bookings.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    })
+    void shouldExportByOwnerAsCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingService.exportByOwner(1L, ExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "id,start,end,itemId,itemName,bookerId,bookerName,status",
+                "7,2100-01-01T12:00,2100-01-05T12:00,3,Dryer,2,Irina,WAITING",
+                "8,2100-01-03T12:00,2100-01-07T12:00,3,Dryer,2,Irina,WAITING",
+                "9,2100-02-01T12:00,2100-02-05T12:00,3,Dryer,2,Irina,WAITING");
+    }
+
+    @Test
+    @SqlGroup({
+            @Sql(value = {"before-with-waiting-bookings.sql"}, executionPhase = BEFORE_TEST_METHOD)
+    })
+    void shouldExportByOwnerAsNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingService.exportByOwner(2L, ExportFormat.NDJSON, out);
+
+        assertEquals("{\"id\":10,\"start\":\"2100-01-01T12:00:00\",\"end\":\"2100-01-05T12:00:00\",\"itemId\":5,"
+                + "\"itemName\":\"Drill\",\"bookerId\":1,\"bookerName\":\"Oleg\",\"status\":\"WAITING\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
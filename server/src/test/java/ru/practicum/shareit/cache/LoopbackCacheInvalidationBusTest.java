@@ -0,0 +1,45 @@
+package ru.practicum.shareit.cache;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoopbackCacheInvalidationBusTest {
+
+    private final CacheInvalidationHandler handler = Mockito.mock(CacheInvalidationHandler.class);
+    private final LoopbackCacheInvalidationBus bus = new LoopbackCacheInvalidationBus(handler, 60_000, 2);
+
+    @Test
+    void shouldCoalesceInvalidationsIntoOneBatch() {
+        bus.invalidate(CacheRegion.ITEMS, 3L);
+        bus.invalidate(CacheRegion.ITEMS, 3L);
+        bus.invalidate(CacheRegion.USERS, 1L);
+        bus.flush();
+        bus.flush();
+
+        ArgumentCaptor<CacheInvalidationBatch> captor = ArgumentCaptor.forClass(CacheInvalidationBatch.class);
+        Mockito.verify(handler, Mockito.times(1)).apply(captor.capture());
+        assertThat(captor.getValue().getIds())
+                .containsEntry(CacheRegion.ITEMS, Set.of(3L))
+                .containsEntry(CacheRegion.USERS, Set.of(1L));
+        assertThat(captor.getValue().getCleared()).isEmpty();
+    }
+
+    @Test
+    void shouldClearRegionWhenTooManyIdsArePending() {
+        bus.invalidate(CacheRegion.ITEMS, 3L);
+        bus.invalidate(CacheRegion.ITEMS, 5L);
+        bus.invalidate(CacheRegion.ITEMS, 7L);
+        bus.invalidate(CacheRegion.ITEMS, 9L);
+        bus.flush();
+
+        ArgumentCaptor<CacheInvalidationBatch> captor = ArgumentCaptor.forClass(CacheInvalidationBatch.class);
+        Mockito.verify(handler).apply(captor.capture());
+        assertThat(captor.getValue().getIds()).isEmpty();
+        assertThat(captor.getValue().getCleared()).containsExactly(CacheRegion.ITEMS);
+    }
+}
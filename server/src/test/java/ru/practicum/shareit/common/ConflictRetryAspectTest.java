@@ -0,0 +1,61 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import ru.practicum.shareit.exception.ConflictException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConflictRetryAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConflictRetryAspect aspect = new ConflictRetryAspect(meterRegistry);
+    private final ProceedingJoinPoint joinPoint = Mockito.mock(ProceedingJoinPoint.class);
+    private final RetryOnConflict retryOnConflict = Mockito.mock(RetryOnConflict.class);
+
+    @BeforeEach
+    void setUp() {
+        Signature signature = Mockito.mock(Signature.class);
+        when(signature.toShortString()).thenReturn("BookingService.create(..)");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(retryOnConflict.maxAttempts()).thenReturn(3);
+    }
+
+    @Test
+    void retry_shouldRetryOptimisticLockFailures() throws Throwable {
+        when(joinPoint.proceed())
+                .thenThrow(new OptimisticLockingFailureException("stale"))
+                .thenReturn("done");
+
+        assertThat(aspect.retry(joinPoint, retryOnConflict)).isEqualTo("done");
+        verify(joinPoint, times(2)).proceed();
+    }
+
+    @Test
+    void retry_shouldGiveUpWithConflictAfterMaxAttempts() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        assertThatThrownBy(() -> aspect.retry(joinPoint, retryOnConflict)).isInstanceOf(ConflictException.class);
+        verify(joinPoint, times(3)).proceed();
+    }
+
+    @Test
+    void retry_shouldFailFastOnLockTimeout() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new CannotAcquireLockException("Timed out waiting for item 1"));
+
+        assertThatThrownBy(() -> aspect.retry(joinPoint, retryOnConflict))
+                .isInstanceOf(CannotAcquireLockException.class);
+        verify(joinPoint, times(1)).proceed();
+        assertThat(meterRegistry.find("shareit.conflict.retries").counter()).isNull();
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class ItemLockManagerTest {
+
+    private final ItemLockManager lockManager = new ItemLockManager(Mockito.mock(JdbcTemplate.class),
+            new SimpleMeterRegistry(), 2, false, 1000);
+
+    @Test
+    void lockItems_shouldNotDeadlockWhenItemOrderDiffersFromStripeOrder() {
+        long[] ascendingStripes = findPair(0);
+        long[] descendingStripes = findPair(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() ->
+                lockRepeatedly(List.of(ascendingStripes[0], ascendingStripes[1])));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() ->
+                lockRepeatedly(List.of(descendingStripes[0], descendingStripes[1])));
+
+        assertThatCode(() -> CompletableFuture.allOf(first, second).get(30, TimeUnit.SECONDS))
+                .doesNotThrowAnyException();
+    }
+
+    private long[] findPair(int firstStripe) {
+        long first = -1;
+        for (long id = 1; ; id++) {
+            int stripe = lockManager.stripeOf(id);
+            if (first < 0 && stripe == firstStripe) {
+                first = id;
+            } else if (first >= 0 && stripe != firstStripe) {
+                return new long[]{first, id};
+            }
+        }
+    }
+
+    private void lockRepeatedly(List<Long> itemIds) {
+        for (int i = 0; i < 500; i++) {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                lockManager.lockItems(itemIds);
+                Thread.yield();
+            } finally {
+                List<TransactionSynchronization> synchronizations =
+                        TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                synchronizations.forEach(synchronization ->
+                        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.cache.CacheInvalidationBatch;
+import ru.practicum.shareit.cache.CacheInvalidationHandler;
+import ru.practicum.shareit.cache.CacheRegion;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest(properties = {"shareit.cache.entities.enabled=true", "shareit.monitoring.hibernate-statistics=true"})
+@SqlGroup({
+        @Sql(value = {"/before.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"/after.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EntityCacheTest {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final CacheInvalidationHandler cacheInvalidationHandler;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldServeRepeatedUserReadsFromCache() {
+        userService.getById(1L);
+        userService.getById(1L);
+
+        assertThat(statistics.getDomainDataRegionStatistics(EntityCacheConfig.USERS_REGION).getHitCount())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", EntityCacheConfig.USERS_REGION, "result", "hit")
+                .functionCounter())
+                .isNotNull();
+    }
+
+    @Test
+    void shouldReturnUpdatedUserAfterUpdate() {
+        userService.getById(1L);
+        userService.update(1L, new UserDto(null, "Renamed", null));
+
+        assertThat(userService.getById(1L).getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void shouldReturnUpdatedItemAndCachedOwnerAfterUpdate() {
+        itemService.getById(1L, 3L);
+        itemService.update(1L, 3L, new ItemDto(null, "Renamed", null, null, null, null));
+
+        assertThat(itemService.getById(1L, 3L).getName()).isEqualTo("Renamed");
+        assertThat(statistics.getDomainDataRegionStatistics(EntityCacheConfig.ITEMS_REGION).getHitCount())
+                .isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics(EntityCacheConfig.USERS_REGION).getHitCount())
+                .isPositive();
+    }
+
+    @Test
+    void shouldEvictCachedRequestOnRequestsInvalidation() {
+        itemRequestService.getById(1L, 4L);
+        assertThat(entityManagerFactory.getCache().contains(ItemRequest.class, 4L)).isTrue();
+
+        cacheInvalidationHandler.apply(new CacheInvalidationBatch("other-node",
+                Map.of(CacheRegion.REQUESTS, Set.of(4L)), EnumSet.noneOf(CacheRegion.class)));
+
+        assertThat(entityManagerFactory.getCache().contains(ItemRequest.class, 4L)).isFalse();
+    }
+}
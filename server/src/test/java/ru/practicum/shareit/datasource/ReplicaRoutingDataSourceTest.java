@@ -0,0 +1,91 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        when(replica.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), tracker);
+        clearInvocations(primary, replica);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SharerContext.clear();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionToReplica() throws SQLException {
+        startTransaction(true);
+
+        useConnection();
+
+        verify(replica).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionToPrimary() throws SQLException {
+        startTransaction(false);
+
+        useConnection();
+
+        verify(primary).getConnection();
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void shouldReadFromPrimaryAfterOwnWrite() throws SQLException {
+        SharerContext.set(1L);
+        startTransaction(false);
+        useConnection();
+
+        startTransaction(true);
+        useConnection();
+
+        verify(primary, times(2)).getConnection();
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void shouldReadFromReplicaAfterAnotherUsersWrite() throws SQLException {
+        tracker.recordWrite(2L);
+        SharerContext.set(1L);
+        startTransaction(true);
+
+        useConnection();
+
+        verify(replica).getConnection();
+    }
+
+    private void startTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void useConnection() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+    }
+}
@@ -11,22 +11,27 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
 import ru.practicum.shareit.booking.dto.BookingIdAndBookerId;
+import ru.practicum.shareit.common.CursorPage;
 import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingAndComments;
 import ru.practicum.shareit.item.dto.ItemDtoIdAndName;
 import ru.practicum.shareit.item.dto.ItemDtoInput;
+import ru.practicum.shareit.item.dashboard.OwnerDashboardService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoIdAndName;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -74,6 +79,8 @@ class ItemControllerTest {
     private ObjectMapper mapper;
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private OwnerDashboardService ownerDashboardService;
     @Autowired
     private MockMvc mvc;
 
@@ -302,6 +309,81 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getComments_shouldReturnNextCursorHeader() throws Exception {
+        Mockito
+                .when(itemService.getComments(itemDtoDryer.getId(), null, 1))
+                .thenReturn(new CursorPage<>(List.of(comment), comment.getId()));
+
+        mvc.perform(
+                        get("/items/{itemId}/comments", itemDtoDryer.getId())
+                                .param("size", "1")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, String.valueOf(comment.getId())))
+                .andExpect(jsonPath("$[0].id", is(comment.getId()), Long.class))
+                .andExpect(jsonPath("$[0].text", is(comment.getText())));
+    }
+
+    @Test
+    void getAvailability_shouldSuccess() throws Exception {
+        LocalDate from = LocalDate.of(2023, 1, 1);
+        LocalDate to = LocalDate.of(2023, 1, 31);
+        Mockito
+                .when(itemService.getAvailability(itemDtoDryer.getId(), from, to))
+                .thenReturn(new ItemAvailabilityDto(itemDtoDryer.getId(), from, to,
+                        List.of(LocalDate.of(2023, 1, 20), LocalDate.of(2023, 1, 21))));
+
+        mvc.perform(
+                        get("/items/{itemId}/availability", itemDtoDryer.getId())
+                                .param("from", "2023-01-01")
+                                .param("to", "2023-01-31")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(itemDtoDryer.getId()), Long.class))
+                .andExpect(jsonPath("$.from", is("2023-01-01")))
+                .andExpect(jsonPath("$.bookedDays[0]", is("2023-01-20")))
+                .andExpect(jsonPath("$.bookedDays[1]", is("2023-01-21")));
+    }
+
+    @Test
+    void getByText_shouldSearchAvailableInWindow() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 6, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 1, 7, 18, 0);
+        Mockito
+                .when(itemService.getAvailableByText("drill", start, end, 0, 1))
+                .thenReturn(List.of(itemDtoDryer));
+
+        mvc.perform(
+                        get("/items/search")
+                                .param("text", "drill")
+                                .param("start", "2023-01-06T10:00:00")
+                                .param("end", "2023-01-07T18:00:00")
+                                .param("from", "0")
+                                .param("size", "1")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id", is(itemDtoDryer.getId()), Long.class));
+    }
+
+    @Test
+    void getByText_shouldFailIfOnlyStartGiven() throws Exception {
+        mvc.perform(
+                        get("/items/search")
+                                .param("text", "drill")
+                                .param("start", "2023-01-06T10:00:00")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getByText_shouldSuccess() throws Exception {
         Mockito
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemAvailabilityIndexTest {
+
+    private final BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+    private final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+    private final ItemAvailabilityIndex index = new ItemAvailabilityIndex(bookingRepository, transactionManager,
+            300_000);
+
+    @Test
+    void shouldLoadBookedDaysOnceAndApplyApprovals() {
+        Mockito
+                .when(bookingRepository.findBookingsByItem_IdAndStatus(3L, Status.APPROVED))
+                .thenReturn(List.of(new Booking(7L,
+                        LocalDateTime.of(2100, 1, 1, 12, 0),
+                        LocalDateTime.of(2100, 1, 3, 0, 0),
+                        null, null, Status.APPROVED)));
+
+        assertThat(index.getBookedDays(3L, LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 31)))
+                .containsExactly(LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 2));
+
+        index.onApproved(3L, LocalDateTime.of(2100, 1, 10, 12, 0), LocalDateTime.of(2100, 1, 11, 12, 0));
+
+        assertThat(index.getBookedDays(3L, LocalDate.of(2100, 1, 2), LocalDate.of(2100, 1, 10)))
+                .containsExactly(LocalDate.of(2100, 1, 2), LocalDate.of(2100, 1, 10));
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findBookingsByItem_IdAndStatus(3L, Status.APPROVED);
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        Mockito
+                .when(bookingRepository.findBookingsByItem_IdAndStatus(3L, Status.APPROVED))
+                .thenReturn(List.of());
+
+        index.getBookedDays(3L, LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 31));
+        index.evict(3L);
+        index.getBookedDays(3L, LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 31));
+
+        Mockito.verify(bookingRepository, Mockito.times(2))
+                .findBookingsByItem_IdAndStatus(3L, Status.APPROVED);
+    }
+
+    @Test
+    void shouldLoadInNewReadWriteTransactionSoThePrimaryIsUsed() {
+        Mockito
+                .when(bookingRepository.findBookingsByItem_IdAndStatus(3L, Status.APPROVED))
+                .thenReturn(List.of());
+
+        index.getBookedDays(3L, LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 31));
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        Mockito.verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior())
+                .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        assertThat(definition.getValue().isReadOnly()).isFalse();
+    }
+
+    @Test
+    void shouldNotCacheSnapshotWhenBookingsChangeDuringLoad() {
+        Mockito
+                .when(bookingRepository.findBookingsByItem_IdAndStatus(3L, Status.APPROVED))
+                .thenAnswer(invocation -> {
+                    index.evict(3L);
+                    return List.of();
+                })
+                .thenReturn(List.of());
+
+        index.getBookedDays(3L, LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 31));
+        index.getBookedDays(3L, LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 31));
+        index.getBookedDays(3L, LocalDate.of(2100, 1, 1), LocalDate.of(2100, 1, 31));
+
+        Mockito.verify(bookingRepository, Mockito.times(2))
+                .findBookingsByItem_IdAndStatus(3L, Status.APPROVED);
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
 import ru.practicum.shareit.item.comments.Comment;
@@ -68,4 +69,23 @@ class CommentRepositoryTest {
         assertEquals(result.get(0).getAuthor().getName(), comment.getAuthor().getName());
         assertEquals(result.get(0).getCreated(), comment.getCreated());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findLatestIdsByItemIds_shouldSuccess() {
+        List<Number> result = commentRepository.findLatestIdsByItemIds(itemIds, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(comment.getId(), result.get(0).longValue());
+    }
+
+    @Test
+    void findPageByItemId_shouldStartAfterCursor() {
+        List<Comment> first = commentRepository.findPageByItemId(dryer.getId(), Long.MAX_VALUE, PageRequest.of(0, 1));
+        List<Comment> next = commentRepository.findPageByItemId(dryer.getId(), comment.getId(), PageRequest.of(0, 1));
+
+        assertEquals(1, first.size());
+        assertEquals(comment.getId(), first.get(0).getId());
+        assertEquals(comment.getAuthor().getName(), first.get(0).getAuthor().getName());
+        assertThat(next).isEmpty();
+    }
+}
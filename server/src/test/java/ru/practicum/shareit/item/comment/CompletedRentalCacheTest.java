@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.comment;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.comments.CompletedRentalCache;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletedRentalCacheTest {
+
+    private final CompletedRentalCache cache = new CompletedRentalCache(true, 100);
+
+    @Test
+    void shouldReportCompletedOnlyAfterEarliestEnd() {
+        LocalDateTime now = LocalDateTime.of(2100, 1, 10, 12, 0);
+        cache.onRental(1L, 3L, now.plusDays(5));
+
+        assertThat(cache.hasCompleted(1L, 3L, now)).isFalse();
+
+        cache.onRental(1L, 3L, now.minusDays(1));
+
+        assertThat(cache.hasCompleted(1L, 3L, now)).isTrue();
+        assertThat(cache.hasCompleted(2L, 3L, now)).isFalse();
+    }
+
+    @Test
+    void shouldForgetEvictedItem() {
+        LocalDateTime now = LocalDateTime.of(2100, 1, 10, 12, 0);
+        cache.onRental(1L, 3L, now.minusDays(1));
+        cache.onRental(1L, 5L, now.minusDays(1));
+
+        cache.evictItem(3L);
+
+        assertThat(cache.hasCompleted(1L, 3L, now)).isFalse();
+        assertThat(cache.hasCompleted(1L, 5L, now)).isTrue();
+    }
+
+    @Test
+    void shouldAlwaysMissWhenDisabled() {
+        CompletedRentalCache disabled = new CompletedRentalCache(false, 100);
+        LocalDateTime now = LocalDateTime.of(2100, 1, 10, 12, 0);
+        disabled.onRental(1L, 3L, now.minusDays(1));
+
+        assertThat(disabled.hasCompleted(1L, 3L, now)).isFalse();
+    }
+}
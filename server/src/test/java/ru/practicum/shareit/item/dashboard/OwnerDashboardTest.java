@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.comments.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoBookingAndComments;
+import ru.practicum.shareit.item.dto.ItemDtoInput;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest
+@SqlGroup({
+        @Sql(value = {"/before.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"after-dashboard.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OwnerDashboardTest {
+
+    private final OwnerDashboardService ownerDashboardService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final OwnerDashboardRefreshJob ownerDashboardRefreshJob;
+    private final OwnerDashboardRepository ownerDashboardRepository;
+
+    @Test
+    void shouldMatchItemListAfterBookingAndCommentWrites() {
+        long itemId = itemService.create(1L, new ItemDtoInput(null, "Ladder", "Three metres", true, null)).getId();
+        LocalDateTime now = LocalDateTime.now();
+        long past = bookingService.create(2L, new BookingDtoInput(now.minusDays(3), now.minusDays(2), itemId)).getId();
+        long future = bookingService.create(2L, new BookingDtoInput(now.plusDays(2), now.plusDays(3), itemId)).getId();
+        long later = bookingService.create(2L, new BookingDtoInput(now.plusDays(4), now.plusDays(5), itemId)).getId();
+        bookingService.updateStatusOfBooking(1L, past, true);
+        bookingService.updateStatusOfBooking(1L, later, true);
+        bookingService.updateStatusOfBooking(1L, future, true);
+        itemService.createComment(2L, itemId, new CommentDto(null, "Sturdy", null, null));
+
+        ItemDashboardDto dashboard = ownerDashboardService.getDashboard(1L, 0, 10).stream()
+                .filter(dto -> dto.getId() == itemId)
+                .findFirst()
+                .orElseThrow();
+        ItemDtoBookingAndComments listed = itemService.getAll(1L, 0, 10).stream()
+                .filter(dto -> dto.getId() == itemId)
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(dashboard.getLastBooking()).isEqualTo(listed.getLastBooking());
+        assertThat(dashboard.getNextBooking()).isEqualTo(listed.getNextBooking());
+        assertThat(dashboard.getNextBooking().getId()).isEqualTo(future);
+        assertThat(dashboard.getCommentsCount()).isEqualTo(1);
+        assertThat(dashboard.getLastComment().getText()).isEqualTo("Sturdy");
+        assertThat(dashboard.getName()).isEqualTo("Ladder");
+    }
+
+    @Test
+    void refreshJob_shouldPersistRecomputedBookingsOnceNextBookingStarts() throws InterruptedException {
+        long itemId = itemService.create(1L, new ItemDtoInput(null, "Ladder", "Three metres", true, null)).getId();
+        LocalDateTime now = LocalDateTime.now();
+        long soon = bookingService.create(2L, new BookingDtoInput(now.plusSeconds(1), now.plusDays(1), itemId)).getId();
+        long later = bookingService.create(2L, new BookingDtoInput(now.plusDays(2), now.plusDays(3), itemId)).getId();
+        bookingService.updateStatusOfBooking(1L, soon, true);
+        bookingService.updateStatusOfBooking(1L, later, true);
+
+        Thread.sleep(1200);
+        ownerDashboardRefreshJob.refreshStartedBookings();
+
+        OwnerDashboardRow row = ownerDashboardRepository.findById(itemId).orElseThrow();
+        assertThat(row.getLastBookingId()).isEqualTo(soon);
+        assertThat(row.getNextBookingId()).isEqualTo(later);
+        assertThat(row.getRefreshAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void shouldRecomputeBookingsAfterRejectionAndOnceNextBookingStarts() throws InterruptedException {
+        long itemId = itemService.create(1L, new ItemDtoInput(null, "Ladder", "Three metres", true, null)).getId();
+        LocalDateTime now = LocalDateTime.now();
+        long soon = bookingService.create(2L, new BookingDtoInput(now.plusSeconds(1), now.plusDays(1), itemId)).getId();
+        long later = bookingService.create(2L, new BookingDtoInput(now.plusDays(2), now.plusDays(3), itemId)).getId();
+        bookingService.updateStatusOfBooking(1L, soon, true);
+        bookingService.updateStatusOfBooking(1L, later, true);
+        bookingService.updateStatusOfBooking(1L, later, false);
+
+        ItemDashboardDto before = ownerDashboardService.getDashboard(1L, 0, 10).get(0);
+        assertThat(before.getLastBooking()).isNull();
+        assertThat(before.getNextBooking().getId()).isEqualTo(soon);
+
+        Thread.sleep(1200);
+
+        ItemDashboardDto after = ownerDashboardService.getDashboard(1L, 0, 10).get(0);
+        assertThat(after.getLastBooking().getId()).isEqualTo(soon);
+        assertThat(after.getNextBooking()).isNull();
+    }
+}
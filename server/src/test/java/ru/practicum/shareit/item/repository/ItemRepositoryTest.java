@@ -5,11 +5,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -21,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 class ItemRepositoryTest {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
 
     @Test
     void getByText_shouldSuccess() {
@@ -37,4 +42,23 @@ class ItemRepositoryTest {
         assertEquals(item.getName(), result.get(0).getName());
         assertEquals(item.getAvailable(), result.get(0).getAvailable());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailableByText_shouldSkipItemsBookedInWindow() {
+        User userOleg = userRepository.save(new User(null, "nam", "man@yandex.ru"));
+        User userIrina = userRepository.save(new User(null, "Irina", "irina@yandex.ru"));
+        Item booked = itemRepository.save(new Item(null, "Drill", "Booked drill", true, userOleg, null));
+        Item free = itemRepository.save(new Item(null, "Drill", "Free drill", true, userOleg, null));
+        LocalDateTime start = LocalDateTime.of(2100, 1, 6, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2100, 1, 7, 18, 0);
+        bookingRepository.save(new Booking(null, start.minusDays(1), start.plusHours(2), booked, userIrina,
+                Status.APPROVED));
+        bookingRepository.save(new Booking(null, start, end, free, userIrina, Status.WAITING));
+        bookingRepository.save(new Booking(null, end, end.plusDays(1), free, userIrina, Status.APPROVED));
+
+        List<Item> result = itemRepository.findAvailableByText("drill", start, end, Pageable.unpaged());
+
+        assertEquals(1, result.size());
+        assertEquals(free.getId(), result.get(0).getId());
+    }
+}
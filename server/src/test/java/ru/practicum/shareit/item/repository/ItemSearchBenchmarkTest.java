@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// mvn test -Dtest=ItemSearchBenchmarkTest -Dshareit.benchmark=true
+@Slf4j
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemSearchBenchmarkTest {
+
+    private static final int USERS = 1_000;
+    private static final int ITEMS = 20_000;
+    private static final int BOOKINGS = 1_000_000;
+    private static final int BATCH = 10_000;
+    private static final int WARM_UP_RUNS = 10;
+    private static final int MEASURED_RUNS = 50;
+    private static final String COMPOSITE_INDEX = "ix_bookings_item_status_period";
+    private static final String ITEM_ID_INDEX = "ix_bench_bookings_item_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemRepository itemRepository;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS " + ITEM_ID_INDEX);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + COMPOSITE_INDEX
+                + " ON bookings (item_id, status, start_date, end_date)");
+        jdbcTemplate.execute("TRUNCATE TABLE bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void findAvailableByText_compositeVersusItemIdIndex() {
+        generate();
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime end = start.plusDays(7);
+
+        jdbcTemplate.execute("DROP INDEX " + COMPOSITE_INDEX);
+        jdbcTemplate.execute("CREATE INDEX " + ITEM_ID_INDEX + " ON bookings (item_id)");
+        List<Long> itemIdOnly = new ArrayList<>();
+        double itemIdMs = measure(start, end, itemIdOnly);
+
+        jdbcTemplate.execute("DROP INDEX " + ITEM_ID_INDEX);
+        jdbcTemplate.execute("CREATE INDEX " + COMPOSITE_INDEX
+                + " ON bookings (item_id, status, start_date, end_date)");
+        List<Long> composite = new ArrayList<>();
+        double compositeMs = measure(start, end, composite);
+
+        log.info("Item search benchmark {} {} {} {}", kv("items", ITEMS), kv("bookings", BOOKINGS),
+                kv("itemIdIndexMs", itemIdMs), kv("compositeIndexMs", compositeMs));
+        assertThat(composite).isNotEmpty().isEqualTo(itemIdOnly);
+    }
+
+    private double measure(LocalDateTime start, LocalDateTime end, List<Long> firstPage) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            search(start, end);
+        }
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            List<Long> ids = search(start, end);
+            if (i == 0) {
+                firstPage.addAll(ids);
+            }
+        }
+        return (System.nanoTime() - startNanos) / 1_000_000.0 / MEASURED_RUNS;
+    }
+
+    private List<Long> search(LocalDateTime start, LocalDateTime end) {
+        return itemRepository.findAvailableByText("drill", start, end, PageRequest.of(0, 100)).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private void generate() {
+        Random random = new Random(42);
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{(long) i, "User " + i, "user" + i + "@bench.local"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+
+        List<Object[]> items = new ArrayList<>(ITEMS);
+        for (int i = 1; i <= ITEMS; i++) {
+            items.add(new Object[]{(long) i, (i % 4 == 0 ? "Drill " : "Ladder ") + i, "Benchmark item", true,
+                    (long) random.nextInt(USERS) + 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id) "
+                + "VALUES (?, ?, ?, ?, ?)", items);
+
+        LocalDateTime origin = LocalDateTime.of(2023, 1, 1, 0, 0);
+        List<Object[]> bookings = new ArrayList<>(BATCH);
+        for (int i = 1; i <= BOOKINGS; i++) {
+            LocalDateTime bookingStart = origin.plusHours(random.nextInt(2 * 365 * 24));
+            bookings.add(new Object[]{(long) i, Timestamp.valueOf(bookingStart),
+                    Timestamp.valueOf(bookingStart.plusDays(1 + random.nextInt(5))),
+                    (long) random.nextInt(ITEMS) + 1, (long) random.nextInt(USERS) + 1,
+                    random.nextInt(3) == 0 ? "WAITING" : "APPROVED"});
+            if (bookings.size() == BATCH) {
+                insertBookings(bookings);
+            }
+        }
+        insertBookings(bookings);
+    }
+
+    private void insertBookings(List<Object[]> bookings) {
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+        bookings.clear();
+    }
+}
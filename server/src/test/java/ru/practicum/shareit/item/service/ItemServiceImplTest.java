@@ -2,31 +2,42 @@ package ru.practicum.shareit.item.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.cache.CacheInvalidationBus;
+import ru.practicum.shareit.cache.CacheRegion;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingIdAndBookerId;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.CursorPage;
 import ru.practicum.shareit.exception.CommentAccessException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.item.comments.Comment;
 import ru.practicum.shareit.item.comments.CommentDto;
 import ru.practicum.shareit.item.comments.CommentRepository;
+import ru.practicum.shareit.item.comments.CompletedRentalCache;
+import ru.practicum.shareit.item.dashboard.OwnerDashboardProjector;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingAndComments;
 import ru.practicum.shareit.item.dto.ItemDtoInput;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.request.matching.RequestMatcher;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -82,6 +93,18 @@ class ItemServiceImplTest {
     private CommentRepository mockCommentRepository;
     @Mock
     private ItemRequestRepository mockItemRequestRepository;
+    @Mock
+    private ItemAvailabilityIndex mockItemAvailabilityIndex;
+    @Mock
+    private CompletedRentalCache mockCompletedRentalCache;
+    @Mock
+    private CacheInvalidationBus mockCacheInvalidationBus;
+    @Mock
+    private OutboxWriter mockOutboxWriter;
+    @Mock
+    private OwnerDashboardProjector mockOwnerDashboardProjector;
+    @Mock
+    private RequestMatcher mockRequestMatcher;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -199,7 +222,7 @@ class ItemServiceImplTest {
                         any(LocalDateTime.class)))
                 .thenReturn(Optional.of(nextBooking));
         Mockito
-                .when(mockCommentRepository.findByItem_Id(dryer.getId()))
+                .when(mockCommentRepository.findPageByItemId(dryer.getId(), Long.MAX_VALUE, PageRequest.of(0, 10)))
                 .thenReturn(Collections.emptyList());
 
         ItemDtoBookingAndComments actual = itemService.getById(
@@ -227,7 +250,7 @@ class ItemServiceImplTest {
                 .when(mockItemRepository.findById(dryer.getId()))
                 .thenReturn(Optional.of(dryer));
         Mockito
-                .when(mockCommentRepository.findByItem_Id(dryer.getId()))
+                .when(mockCommentRepository.findPageByItemId(dryer.getId(), Long.MAX_VALUE, PageRequest.of(0, 10)))
                 .thenReturn(Collections.emptyList());
         ItemDtoBookingAndComments actual = itemService.getById(
                 userOleg.getId(), dryer.getId()
@@ -273,7 +296,10 @@ class ItemServiceImplTest {
                 .when(mockBookingRepository.findLastBookings(itemIds))
                 .thenReturn(List.of(lastBooking, nextBooking));
         Mockito
-                .when(mockCommentRepository.findByItem_IdIn(anySet()))
+                .when(mockCommentRepository.findLatestIdsByItemIds(anySet(), eq(10)))
+                .thenReturn(List.<Number>of(comment.getId()));
+        Mockito
+                .when(mockCommentRepository.findWithAuthorByIdIn(List.of(comment.getId())))
                 .thenReturn(List.of(comment));
         ItemDtoBookingAndComments expected = new ItemDtoBookingAndComments(
                 dryer.getId(),
@@ -306,7 +332,10 @@ class ItemServiceImplTest {
                 .when(mockBookingRepository.findLastBookings(itemIds))
                 .thenReturn(List.of(lastBooking, nextBooking));
         Mockito
-                .when(mockCommentRepository.findByItem_IdIn(anySet()))
+                .when(mockCommentRepository.findLatestIdsByItemIds(anySet(), eq(10)))
+                .thenReturn(List.<Number>of(comment.getId()));
+        Mockito
+                .when(mockCommentRepository.findWithAuthorByIdIn(List.of(comment.getId())))
                 .thenReturn(List.of(comment));
         Mockito
                 .when(mockBookingRepository.findLastBookings(anySet()))
@@ -447,14 +476,15 @@ class ItemServiceImplTest {
 
     @Test
     void deleteAll_shouldBeSuccess() {
-        lenient()
-                .when(mockItemRepository.findAll())
-                .thenReturn(List.of(dryer));
         itemService.deleteAll();
 
+        InOrder inOrder = Mockito.inOrder(mockCommentRepository, mockBookingRepository, mockItemRepository);
+        inOrder.verify(mockCommentRepository).deleteAllInBatch();
+        inOrder.verify(mockBookingRepository).deleteAllInBatch();
+        inOrder.verify(mockItemRepository).deleteAllInBatch();
         Mockito
-                .verify(mockItemRepository, Mockito.times(1))
-                .deleteAll();
+                .verify(mockItemRepository, Mockito.never())
+                .findAll();
     }
 
     @Test
@@ -477,31 +507,33 @@ class ItemServiceImplTest {
     @Test
     void createComment_shouldSuccess() {
         Mockito
-                .when(mockItemRepository.findById(dryer.getId()))
+                .when(mockItemRepository.findAndLockById(dryer.getId()))
                 .thenReturn(Optional.of(dryer));
         Mockito
                 .when(mockUserRepository.findById(userOleg.getId()))
                 .thenReturn(Optional.of(userOleg));
         Mockito
-                .when(mockBookingRepository.findBookingsByBooker_IdAndItem_IdAndEndIsBefore(
+                .when(mockBookingRepository.existsByBooker_IdAndItem_IdAndEndBefore(
                                 eq(userOleg.getId()),
                                 eq(dryer.getId()),
                                 any(LocalDateTime.class)
                         )
                 )
-                .thenReturn(List.of(lastBooking));
+                .thenReturn(true);
         Mockito.when(mockCommentRepository.save(any())).thenReturn(comment);
         CommentDto realComment = itemService.createComment(userOleg.getId(), dryer.getId(), commentDto);
 
         assertEquals(commentDto.getId(), realComment.getId());
         assertEquals(commentDto.getAuthorName(), realComment.getAuthorName());
         assertEquals(commentDto.getText(), realComment.getText());
+        assertEquals(1, dryer.getCommentsCount());
+        Mockito.verify(mockCacheInvalidationBus).invalidate(CacheRegion.ITEMS, dryer.getId());
     }
 
     @Test
     void createComment_shouldThrowExceptionIfItemNotExist() {
         lenient()
-                .when(mockItemRepository.findById(99L))
+                .when(mockItemRepository.findAndLockById(99L))
                 .thenReturn(Optional.empty());
 
         assertThrows(
@@ -517,7 +549,7 @@ class ItemServiceImplTest {
     @Test
     void createComment_shouldThrowExceptionIfUserNotExist() {
         lenient()
-                .when(mockItemRepository.findById(dryer.getId()))
+                .when(mockItemRepository.findAndLockById(dryer.getId()))
                 .thenReturn(Optional.of(dryer));
         Mockito
                 .when(mockUserRepository.findById(99L))
@@ -552,19 +584,19 @@ class ItemServiceImplTest {
     @Test
     void createComment_shouldThrowExceptionIfUserIsNotBooker() {
         Mockito
-                .when(mockItemRepository.findById(dryer.getId()))
+                .when(mockItemRepository.findAndLockById(dryer.getId()))
                 .thenReturn(Optional.of(dryer));
         Mockito
                 .when(mockUserRepository.findById(userOleg.getId()))
                 .thenReturn(Optional.of(userOleg));
         Mockito
-                .when(mockBookingRepository.findBookingsByBooker_IdAndItem_IdAndEndIsBefore(
+                .when(mockBookingRepository.existsByBooker_IdAndItem_IdAndEndBefore(
                                 eq(userOleg.getId()),
                                 eq(dryer.getId()),
                                 any(LocalDateTime.class)
                         )
                 )
-                .thenReturn(Collections.emptyList());
+                .thenReturn(false);
 
 
         assertThrows(
@@ -572,4 +604,38 @@ class ItemServiceImplTest {
                 () -> itemService.createComment(userOleg.getId(), dryer.getId(), commentDto)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability_shouldThrowExceptionIfRangeIsTooLong() {
+        assertThrows(ValidateException.class,
+                () -> itemService.getAvailability(dryer.getId(), LocalDate.of(2023, 1, 1),
+                        LocalDate.of(2024, 1, 2)));
+    }
+
+    @Test
+    void getAvailability_shouldThrowExceptionIfItemNotExist() {
+        Mockito
+                .when(mockItemRepository.existsById(99L))
+                .thenReturn(false);
+
+        assertThrows(NotFoundException.class,
+                () -> itemService.getAvailability(99L, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31)));
+    }
+
+    @Test
+    void getComments_shouldReturnNextCursorIfMoreCommentsExist() {
+        Comment older = new Comment(6L, "Nice", dryer, userIrina, LocalDateTime.of(2023, 1, 21, 12, 10));
+        Mockito
+                .when(mockItemRepository.existsById(dryer.getId()))
+                .thenReturn(true);
+        Mockito
+                .when(mockCommentRepository.findPageByItemId(dryer.getId(), 9L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(comment, older));
+
+        CursorPage<CommentDto> page = itemService.getComments(dryer.getId(), 9L, 1);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(comment.getId(), page.getContent().get(0).getId());
+        assertEquals(comment.getId(), page.getNextCursor());
+    }
+}
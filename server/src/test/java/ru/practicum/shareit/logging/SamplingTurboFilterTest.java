@@ -0,0 +1,54 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void shouldPassOneOfEveryRateEventsForMatchingPackage() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setRules("ru.practicum.shareit=DEBUG:10");
+        Logger logger = context.getLogger("ru.practicum.shareit.booking.BookingController");
+        logger.setLevel(Level.DEBUG);
+
+        long passed = IntStream.range(0, 100)
+                .mapToObj(i -> filter.decide(null, logger, Level.DEBUG, "event", null, null))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+
+        assertThat(passed).isEqualTo(10);
+    }
+
+    @Test
+    void shouldNotSampleLevelsAboveRuleOrOtherPackages() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setRules("ru.practicum.shareit=DEBUG:10");
+        Logger logger = context.getLogger("ru.practicum.shareit.booking.BookingController");
+        logger.setLevel(Level.DEBUG);
+        Logger other = context.getLogger("org.hibernate.SQL");
+        other.setLevel(Level.DEBUG);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter.decide(null, logger, Level.WARN, "event", null, null)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(filter.decide(null, other, Level.DEBUG, "event", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    void shouldRejectMalformedRule() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+
+        assertThrows(IllegalArgumentException.class, () -> filter.setRules("ru.practicum.shareit"));
+    }
+}
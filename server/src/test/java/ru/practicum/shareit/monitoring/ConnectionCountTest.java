@@ -0,0 +1,42 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@SqlGroup({
+        @Sql(value = {"/before.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"/after.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ConnectionCountTest {
+
+    private final MockMvc mvc;
+
+    @Test
+    void shouldCheckOutOneConnectionForItemWithBookingsAndComments() throws Exception {
+        mvc.perform(get("/items/3").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(StatementCountFilter.CONNECTION_COUNT_HEADER, "1"));
+    }
+
+    @Test
+    void shouldCheckOutOneConnectionForBookingWithLazyAssociations() throws Exception {
+        mvc.perform(get("/bookings/4").header("X-Sharer-User-Id", 2))
+                .andExpect(status().isOk())
+                .andExpect(header().string(StatementCountFilter.CONNECTION_COUNT_HEADER, "1"));
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RepositoryMetricsAspectTest {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final MockMvc mvc;
+
+    @Test
+    void shouldRecordCallsAndStatementsByRepositoryMethod() {
+        userRepository.findAll();
+
+        Timer calls = meterRegistry.find("shareit.repository.calls")
+                .tags("repository", "UserRepository", "method", "findAll")
+                .timer();
+        assertThat(calls).isNotNull();
+        assertThat(calls.count()).isPositive();
+        assertThat(meterRegistry.find("shareit.repository.statements")
+                .tags("repository", "UserRepository", "method", "findAll")
+                .counter()).isNotNull();
+    }
+
+    @Test
+    void shouldReturnStatementCountHeader() throws Exception {
+        mvc.perform(get("/users/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(StatementCountFilter.STATEMENT_COUNT_HEADER, "1"));
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryRecorderTest {
+
+    private final SlowQueryRecorder recorder = new SlowQueryRecorder(0, 0, 2, false);
+
+    @AfterEach
+    void tearDown() {
+        recorder.shutdown();
+    }
+
+    @Test
+    void shouldKeepOnlyNewestQueriesInRingBuffer() {
+        Map<Integer, Object> parameters = new TreeMap<>(Map.of(1, 5L, 2, "APPROVED"));
+
+        recorder.recordQuery("select 1", parameters, 1_000_000, null);
+        recorder.recordQuery("select 2", parameters, 2_000_000, null);
+        recorder.recordQuery("select 3", parameters, 3_000_000, null);
+
+        List<SlowQueryEntry> queries = recorder.getQueries();
+        assertThat(queries).hasSize(2);
+        assertThat(queries.get(0).getSql()).isEqualTo("select 3");
+        assertThat(queries.get(1).getSql()).isEqualTo("select 2");
+        assertThat(queries.get(0).getParameters()).containsExactly("?:Long", "?:String");
+    }
+
+    @Test
+    void shouldNotKeepBoundParameterValues() {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        parameters.put(1, "oleg@yandex.ru");
+        parameters.put(2, null);
+
+        recorder.recordQuery("select * from users where email = ? and name = ?", parameters, 1_000_000, null);
+
+        assertThat(recorder.getQueries().get(0).getParameters()).containsExactly("?:String", "null");
+    }
+
+    @Test
+    void shouldRecordSlowRequestWithIssuedStatements() {
+        RequestQueryStats stats = QueryContext.startRequest("GET /bookings/owner?state=ALL");
+        try {
+            QueryContext.onStatement("/* BookingRepository.findBookingsByItem_Owner_Id */ select ...");
+            recorder.recordRequestIfSlow(stats);
+        } finally {
+            QueryContext.endRequest();
+        }
+
+        List<SlowRequestEntry> requests = recorder.getRequests();
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getRequest()).isEqualTo("GET /bookings/owner?state=ALL");
+        assertThat(requests.get(0).getStatements()).isEqualTo(1);
+        assertThat(requests.get(0).getSql()).hasSize(1);
+    }
+
+    @Test
+    void shouldClearRecordedEntries() {
+        recorder.recordQuery("select 1", Map.of(), 1_000_000, null);
+
+        recorder.clear();
+
+        assertThat(recorder.getQueries()).isEmpty();
+    }
+}
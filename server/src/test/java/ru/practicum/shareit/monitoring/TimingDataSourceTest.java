@@ -0,0 +1,33 @@
+package ru.practicum.shareit.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingDataSourceTest {
+
+    private final SlowQueryRecorder recorder = new SlowQueryRecorder(0, 0, 2, false);
+    private final HikariDataSource pool = Mockito.mock(HikariDataSource.class);
+    private final TimingDataSource dataSource = new TimingDataSource(pool, recorder);
+
+    @AfterEach
+    void tearDown() {
+        recorder.shutdown();
+    }
+
+    @Test
+    void shouldCloseTargetDataSource() throws Exception {
+        dataSource.close();
+
+        Mockito.verify(pool).close();
+    }
+
+    @Test
+    void shouldUnwrapToTargetDataSource() throws Exception {
+        assertThat(dataSource.isWrapperFor(HikariDataSource.class)).isTrue();
+        assertThat(dataSource.unwrap(HikariDataSource.class)).isSameAs(pool);
+    }
+}
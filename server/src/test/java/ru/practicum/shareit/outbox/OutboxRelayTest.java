@@ -0,0 +1,151 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest(properties = {
+        "shareit.outbox.parallelism=2",
+        "shareit.outbox.max-attempts=2",
+        "shareit.outbox.retry-backoff-ms=0"
+})
+@SqlGroup({
+        @Sql(value = {"/before.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"/after.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OutboxRelayTest {
+
+    private final OutboxRelay outboxRelay;
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+
+    @MockBean
+    private OutboxSink sink;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRelayEventsInOrderPerItemAndDrainTheOutbox() {
+        bookingService.updateStatusOfBooking(1L, 4L, false);
+        itemService.update(2L, 5L, new ItemDto(null, "Sledgehammer", null, null, null, null));
+        itemService.update(1L, 3L, new ItemDto(null, "Hair dryer", null, null, null, null));
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        Mockito.verify(sink, Mockito.times(3)).send(captor.capture());
+        List<OutboxEventType> itemThreeEvents = captor.getAllValues().stream()
+                .filter(event -> event.getPartitionKey() == 3L)
+                .map(OutboxEvent::getEventType)
+                .collect(Collectors.toList());
+        assertThat(itemThreeEvents)
+                .containsExactly(OutboxEventType.BOOKING_STATUS_CHANGED, OutboxEventType.ITEM_UPDATED);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldHoldOnlyThePartitionWhoseEventFailed() {
+        bookingService.updateStatusOfBooking(1L, 4L, false);
+        itemService.update(1L, 3L, new ItemDto(null, "Hair dryer", null, null, null, null));
+        itemService.update(2L, 5L, new ItemDto(null, "Sledgehammer", null, null, null, null));
+        Mockito.doThrow(new IllegalStateException("sink is down"))
+                .when(sink).send(argThat(event -> event.getEventType() == OutboxEventType.BOOKING_STATUS_CHANGED));
+
+        outboxRelay.relay();
+
+        Mockito.verify(sink, Mockito.never())
+                .send(argThat(event -> event.getEventType() == OutboxEventType.ITEM_UPDATED
+                        && event.getPartitionKey() == 3L));
+        assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getEventType)
+                .containsExactly(OutboxEventType.BOOKING_STATUS_CHANGED, OutboxEventType.ITEM_UPDATED);
+    }
+
+    @Test
+    void shouldDeadLetterEventAfterMaxAttemptsAndReleaseItsPartition() {
+        bookingService.updateStatusOfBooking(1L, 4L, false);
+        itemService.update(1L, 3L, new ItemDto(null, "Hair dryer", null, null, null, null));
+        Mockito.doThrow(new IllegalStateException("sink is down"))
+                .when(sink).send(argThat(event -> event.getEventType() == OutboxEventType.BOOKING_STATUS_CHANGED));
+
+        outboxRelay.relay();
+        OutboxEvent retried = outboxEventRepository.findAll().get(0);
+        assertThat(retried.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getNextAttemptAt()).isNotNull();
+
+        outboxRelay.relay();
+
+        Mockito.verify(sink, Mockito.times(1))
+                .send(argThat(event -> event.getEventType() == OutboxEventType.ITEM_UPDATED));
+        List<OutboxEvent> remaining = outboxEventRepository.findAll();
+        assertThat(remaining).hasSize(1);
+        assertThat(remaining.get(0).getEventType()).isEqualTo(OutboxEventType.BOOKING_STATUS_CHANGED);
+        assertThat(remaining.get(0).getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(remaining.get(0).getAttempts()).isEqualTo(2);
+        assertThat(remaining.get(0).getLastError()).isEqualTo("sink is down");
+
+        outboxRelay.relay();
+
+        Mockito.verify(sink, Mockito.times(2))
+                .send(argThat(event -> event.getEventType() == OutboxEventType.BOOKING_STATUS_CHANGED));
+    }
+
+    @Test
+    void shouldRelayDueEventsPastBackedOffOnes() {
+        itemService.update(1L, 3L, new ItemDto(null, "Hair dryer", null, null, null, null));
+        itemService.update(2L, 5L, new ItemDto(null, "Sledgehammer", null, null, null, null));
+        OutboxEvent backedOff = outboxEventRepository.findAll().get(0);
+        backedOff.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        outboxEventRepository.save(backedOff);
+
+        outboxRelay.relay();
+
+        Mockito.verify(sink, Mockito.times(1)).send(argThat(event -> event.getPartitionKey() == 5L));
+        Mockito.verify(sink, Mockito.never()).send(argThat(event -> event.getPartitionKey() == 3L));
+        assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getId)
+                .containsExactly(backedOff.getId());
+    }
+
+    @Test
+    void shouldPurgeDeadEventsPastRetention() {
+        itemService.update(1L, 3L, new ItemDto(null, "Hair dryer", null, null, null, null));
+        itemService.update(2L, 5L, new ItemDto(null, "Sledgehammer", null, null, null, null));
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        events.forEach(event -> event.setStatus(OutboxStatus.DEAD));
+        events.get(0).setDeadAt(LocalDateTime.now().minusDays(30));
+        events.get(1).setDeadAt(LocalDateTime.now());
+        outboxEventRepository.saveAll(events);
+
+        outboxRelay.purgeDead();
+
+        assertThat(outboxEventRepository.findAll())
+                .extracting(OutboxEvent::getId)
+                .containsExactly(events.get(1).getId());
+    }
+}
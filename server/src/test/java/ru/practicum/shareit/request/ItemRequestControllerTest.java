@@ -6,11 +6,15 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.CursorPage;
+import ru.practicum.shareit.common.NdjsonWriter;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoRequests;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedPage;
 import ru.practicum.shareit.request.dto.ItemRequestOutput;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -25,10 +29,12 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
+@Import(NdjsonWriter.class)
 class ItemRequestControllerTest {
     private final UserDto userOleg = new UserDto(1L, "Oleg", "oleg@yandex.ru");
     private final UserDtoIdAndName userOlegShort = new UserDtoIdAndName(userOleg.getId(), userOleg.getName());
@@ -197,4 +203,52 @@ class ItemRequestControllerTest {
         Mockito.verify(itemRequestService, Mockito.times(1))
                 .getAllAnotherUsers(1L, 0, 1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllAnotherUsers_shouldUseFirstOffsetPageWithoutCursorOrSince() throws Exception {
+        Mockito
+                .when(itemRequestService.getAllAnotherUsers(1L, 0, 10))
+                .thenReturn(List.of(requestWithItems));
+
+        mvc.perform(
+                        get("/requests/all")
+                                .header("X-Sharer-User-Id", userOleg.getId())
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.[0].id", is(requestWithItems.getId()), Long.class));
+    }
+
+    @Test
+    void getAllAnotherUsers_shouldReturnCursorHeaders() throws Exception {
+        Mockito
+                .when(itemRequestService.getFeed(1L, null, 1))
+                .thenReturn(new ItemRequestFeedPage(List.of(requestWithItems), "next", "latest"));
+
+        mvc.perform(
+                        get("/requests/all")
+                                .header("X-Sharer-User-Id", userOleg.getId())
+                                .param("size", "1")
+                                .param("cursor", "")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(header().string(ItemRequestFeedPage.LATEST_CURSOR_HEADER, "latest"))
+                .andExpect(jsonPath("$.[0].id", is(requestWithItems.getId()), Long.class));
+    }
+
+    @Test
+    void getAllAnotherUsers_shouldReturnNotModifiedWhenNothingNew() throws Exception {
+        Mockito
+                .when(itemRequestService.getFeedSince(1L, "latest", 10))
+                .thenReturn(new ItemRequestFeedPage(List.of(), null, "latest"));
+
+        mvc.perform(
+                        get("/requests/all")
+                                .header("X-Sharer-User-Id", userOleg.getId())
+                                .param("since", "latest")
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(ItemRequestFeedPage.LATEST_CURSOR_HEADER, "latest"));
+    }
+}
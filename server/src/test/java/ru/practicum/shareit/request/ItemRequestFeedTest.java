@@ -0,0 +1,78 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedPage;
+import ru.practicum.shareit.request.dto.ItemRequestOutput;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest
+@SqlGroup({
+        @Sql(value = {"/ru/practicum/shareit/request/matching/before-users.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"/ru/practicum/shareit/item/dashboard/after-dashboard.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemRequestFeedTest {
+
+    private final ItemRequestService itemRequestService;
+    private final ItemRequestRepository itemRequestRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldWalkFeedByCursorAndPollForNewRequests() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(itemRequestService.create(2L, new ItemRequestDto(null, "Request " + i, null, null)).getId());
+        }
+        itemRequestService.create(1L, new ItemRequestDto(null, "Own request", null, null));
+
+        ItemRequestFeedPage first = itemRequestService.getFeed(1L, null, 2);
+        ItemRequestFeedPage second = itemRequestService.getFeed(1L, first.getNextCursor(), 2);
+        ItemRequestFeedPage last = itemRequestService.getFeed(1L, second.getNextCursor(), 2);
+
+        List<Long> walked = new ArrayList<>();
+        for (ItemRequestFeedPage page : List.of(first, second, last)) {
+            page.getContent().forEach(request -> walked.add(request.getId()));
+        }
+        assertThat(walked).containsExactly(created.get(4), created.get(3), created.get(2), created.get(1),
+                created.get(0));
+        assertThat(last.getNextCursor()).isNull();
+
+        String latest = first.getLatestCursor();
+        assertThat(itemRequestService.getFeedSince(1L, latest, 10).getContent()).isEmpty();
+
+        long fresh = itemRequestService.create(2L, new ItemRequestDto(null, "Fresh one", null, null)).getId();
+        ItemRequestFeedPage update = itemRequestService.getFeedSince(1L, latest, 10);
+        assertThat(update.getContent()).extracting(ItemRequestOutput::getId).containsExactly(fresh);
+        assertThat(itemRequestService.getFeedSince(1L, update.getLatestCursor(), 10).getContent()).isEmpty();
+    }
+
+    @Test
+    void shouldDeliverRequestCommittedAfterNewerOneWasPolled() {
+        long first = itemRequestService.create(2L, new ItemRequestDto(null, "First", null, null)).getId();
+        String latest = itemRequestService.getFeed(1L, null, 10).getLatestCursor();
+        LocalDateTime lateCreated = itemRequestRepository.findById(first).orElseThrow().getCreated().minusSeconds(1);
+        jdbcTemplate.update("insert into requests (id, description, requestor_id, created) values (?, ?, ?, ?)",
+                1000L, "Late commit", 2L, lateCreated);
+
+        ItemRequestFeedPage update = itemRequestService.getFeedSince(1L, latest, 10);
+
+        assertThat(update.getContent()).extracting(ItemRequestOutput::getId).containsExactly(1000L);
+        assertThat(itemRequestService.getFeedSince(1L, update.getLatestCursor(), 10).getContent()).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.request.matching;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import ru.practicum.shareit.item.dto.ItemDtoInput;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+
+@SpringBootTest
+@SqlGroup({
+        @Sql(value = {"before-users.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"/ru/practicum/shareit/item/dashboard/after-dashboard.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RequestMatcherTest {
+
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+
+    @Test
+    void shouldRankOwnersByMatchingTermsAndSkipRequestor() {
+        itemService.create(1L, new ItemDtoInput(null, "Hair dryer", "Dries curly hair fast", true, null));
+        itemService.create(2L, new ItemDtoInput(null, "Curly brush", "For hair", true, null));
+        itemService.create(1L, new ItemDtoInput(null, "Drill", "Cordless", true, null));
+
+        long requestId = itemRequestService.create(2L,
+                new ItemRequestDto(null, "Need a dryer for curly hair", null, null)).getId();
+
+        List<RequestMatchDto> matches = itemRequestService.getMatches(1L, 0, 10);
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).getId()).isEqualTo(requestId);
+        assertThat(matches.get(0).getScore()).isEqualTo(3);
+        assertThat(matches.get(0).getRequestor().getId()).isEqualTo(2L);
+        assertThat(itemRequestService.getMatches(2L, 0, 10)).isEmpty();
+    }
+}
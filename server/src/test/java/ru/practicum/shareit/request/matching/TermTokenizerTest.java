@@ -0,0 +1,14 @@
+package ru.practicum.shareit.request.matching;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TermTokenizerTest {
+
+    @Test
+    void shouldLowercaseSplitAndDropShortAndStopWords() {
+        assertThat(TermTokenizer.tokenize("I want a Hair-dryer for CURLY hair!", null, "Фен для волос"))
+                .containsExactly("hair", "dryer", "curly", "фен", "волос");
+    }
+}
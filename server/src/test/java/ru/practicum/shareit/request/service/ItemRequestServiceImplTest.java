@@ -8,14 +8,21 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.item.dto.ItemDtoRequests;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedPage;
 import ru.practicum.shareit.request.dto.ItemRequestOutput;
+import ru.practicum.shareit.request.matching.RequestMatchRepository;
+import ru.practicum.shareit.request.matching.RequestMatcher;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.sse.EventStreamHub;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoIdAndName;
@@ -27,6 +34,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -86,6 +94,14 @@ class ItemRequestServiceImplTest {
     private ItemRepository mockItemRepository;
     @Mock
     private UserRepository mockUserRepository;
+    @Mock
+    private RequestMatcher mockRequestMatcher;
+    @Mock
+    private RequestMatchRepository mockRequestMatchRepository;
+    @Mock
+    private EventStreamHub mockEventStreamHub;
+    @Mock
+    private ItemRequestBatchImporter mockItemRequestBatchImporter;
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -159,6 +175,94 @@ class ItemRequestServiceImplTest {
         assertEquals(List.of(requestDtoOutput), actual);
     }
 
+    @Test
+    void getFeed_shouldReturnNextCursorWhenMoreRequestsExist() {
+        ItemRequest older = new ItemRequest(2L, "Older", userIrina, request.getCreated().minusDays(1));
+        Mockito
+                .when(mockRequestRepository.findFeed(userOleg.getId(), PageRequest.of(0, 2)))
+                .thenReturn(List.of(request, older));
+        Mockito
+                .when(mockItemRepository.findByRequest_IdIn(List.of(request.getId())))
+                .thenReturn(List.of(dryer));
+        ItemRequestFeedPage actual = itemRequestService.getFeed(userOleg.getId(), null, 1);
+
+        assertEquals(List.of(requestDtoOutput), actual.getContent());
+        assertEquals(ItemRequestCursor.of(request).encode(), actual.getNextCursor());
+        assertEquals(ItemRequestCursor.of(request).encode(), actual.getLatestCursor());
+    }
+
+    @Test
+    void getFeed_shouldSeekFromCursor() {
+        String cursor = ItemRequestCursor.of(request).encode();
+        Mockito
+                .when(mockRequestRepository.findFeedBefore(userOleg.getId(), request.getCreated(), request.getId(),
+                        PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+        ItemRequestFeedPage actual = itemRequestService.getFeed(userOleg.getId(), cursor, 1);
+
+        assertThat(actual.getContent()).isEmpty();
+        assertNull(actual.getNextCursor());
+        assertNull(actual.getLatestCursor());
+    }
+
+    @Test
+    void getFeed_shouldThrowExceptionIfWrongCursor() {
+        assertThrows(ValidateException.class,
+                () -> itemRequestService.getFeed(userOleg.getId(), "not-a-cursor", 1));
+    }
+
+    @Test
+    void getFeedSince_shouldReturnNewestFirst() {
+        ItemRequest older = new ItemRequest(2L, "Older", userIrina, request.getCreated().minusDays(1));
+        ItemRequest newer = new ItemRequest(5L, "Newer", userIrina, request.getCreated().plusDays(1));
+        Mockito
+                .when(mockRequestRepository.findFeedAfter(userOleg.getId(), older.getCreated(), 0, PageRequest.of(0, 11)))
+                .thenReturn(List.of(older, request, newer));
+        ItemRequestFeedPage actual = itemRequestService.getFeedSince(userOleg.getId(),
+                ItemRequestCursor.of(older).encode(), 10);
+
+        assertThat(actual.getContent()).extracting(ItemRequestOutput::getId).containsExactly(5L, 4L);
+        assertEquals(ItemRequestCursor.of(newer).encode(), actual.getLatestCursor());
+    }
+
+    @Test
+    void getFeedSince_shouldKeepCursorWhenNothingNew() {
+        String since = ItemRequestCursor.of(request).encode();
+        Mockito
+                .when(mockRequestRepository.findFeedAfter(userOleg.getId(), request.getCreated(), 0, PageRequest.of(0, 11)))
+                .thenReturn(List.of(request));
+        ItemRequestFeedPage actual = itemRequestService.getFeedSince(userOleg.getId(), since, 10);
+
+        assertThat(actual.getContent()).isEmpty();
+        assertEquals(since, actual.getLatestCursor());
+    }
+
+    @Test
+    void getFeedSince_shouldSwitchToStrictCursorWhenWindowIsCrowded() {
+        ReflectionTestUtils.setField(itemRequestService, "feedMaxSeen", 1);
+        ItemRequest first = new ItemRequest(5L, "First", userIrina, request.getCreated());
+        ItemRequest second = new ItemRequest(6L, "Second", userIrina, request.getCreated());
+        Mockito
+                .when(mockRequestRepository.findFeedAfter(userOleg.getId(), request.getCreated(), 0,
+                        PageRequest.of(0, 11)))
+                .thenReturn(List.of(request, first, second));
+        ItemRequestFeedPage actual = itemRequestService.getFeedSince(userOleg.getId(),
+                ItemRequestCursor.of(request).encode(), 10);
+
+        ItemRequestCursor latest = ItemRequestCursor.decode(actual.getLatestCursor());
+        assertThat(actual.getContent()).extracting(ItemRequestOutput::getId).containsExactly(6L, 5L);
+        assertThat(latest.getSeen()).isEmpty();
+        assertEquals(second.getCreated(), latest.getFloorCreated());
+        assertEquals(second.getId(), latest.getFloorId());
+
+        Mockito
+                .when(mockRequestRepository.findFeedAfter(userOleg.getId(), second.getCreated(), second.getId(),
+                        PageRequest.of(0, 11)))
+                .thenReturn(List.of());
+        assertThat(itemRequestService.getFeedSince(userOleg.getId(), actual.getLatestCursor(), 10).getContent())
+                .isEmpty();
+    }
+
     @Test
     void getById_shouldSuccess() {
         Mockito
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.sse;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.BEFORE_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@SqlGroup({
+        @Sql(value = {"/before.sql"}, executionPhase = BEFORE_TEST_METHOD),
+        @Sql(value = {"/ru/practicum/shareit/item/dashboard/after-dashboard.sql"}, executionPhase = AFTER_TEST_METHOD)
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EventStreamTest {
+
+    private final MockMvc mvc;
+    private final ItemRequestService itemRequestService;
+    private final BookingService bookingService;
+
+    @Test
+    void shouldPushNewRequestsToOtherUsersOnly() throws Exception {
+        MockHttpServletResponse other = subscribe("/requests/stream", 1);
+        MockHttpServletResponse requestor = subscribe("/requests/stream", 2);
+
+        itemRequestService.create(2L, new ItemRequestDto(null, "Need a ladder", null, null));
+
+        assertThat(awaitContent(other, "Need a ladder")).contains("event:request");
+        assertThat(requestor.getContentAsString()).doesNotContain("Need a ladder");
+    }
+
+    @Test
+    void shouldPushBookingStatusChangeToBooker() throws Exception {
+        MockHttpServletResponse booker = subscribe("/bookings/stream", 2);
+
+        bookingService.updateStatusOfBooking(1L, 4L, false);
+
+        assertThat(awaitContent(booker, "REJECTED")).contains("event:booking");
+    }
+
+    private MockHttpServletResponse subscribe(String path, long userId) throws Exception {
+        return mvc.perform(get(path).header("X-Sharer-User-Id", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+}
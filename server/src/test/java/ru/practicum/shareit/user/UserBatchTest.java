@@ -0,0 +1,126 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.common.BatchResult;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "shareit.batch.chunk-size=2")
+@Sql(value = {"/ru/practicum/shareit/item/dashboard/after-dashboard.sql"}, executionPhase = AFTER_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserBatchTest {
+
+    private final MockMvc mvc;
+    private final ObjectMapper mapper;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final ItemRequestRepository itemRequestRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldInsertValidUsersAndReportRowErrors() throws Exception {
+        String existing = userService.create(new UserDto(null, "Oleg", "oleg@yandex.ru")).getEmail();
+        List<UserDto> users = List.of(
+                new UserDto(null, "Anna", "anna@yandex.ru"),
+                new UserDto(null, "", "blank@yandex.ru"),
+                new UserDto(null, "Anna twin", "anna@yandex.ru"),
+                new UserDto(null, "Taken", existing),
+                new UserDto(null, "Boris", "boris@yandex.ru"));
+
+        List<BatchResult> results = send("/users/batch", null, mapper.writeValueAsString(users));
+
+        assertThat(results).extracting(BatchResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(1).getError()).startsWith("name:");
+        assertThat(results.get(2).getError()).contains("Duplicate email");
+        assertThat(results.get(3).getError()).contains("already in use");
+        assertThat(results.get(4).getId()).isNotNull();
+        assertThat(userRepository.findById(results.get(4).getId()).orElseThrow().getEmail())
+                .isEqualTo("boris@yandex.ru");
+        assertThat(userRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepValidRowsWhenChunkHitsEmailConstraint() throws Exception {
+        jdbcTemplate.update("insert into users (name, email) values (?, ?)", "Ghost", "ghost@yandex.ru");
+        List<UserDto> users = List.of(
+                new UserDto(null, "Anna", "anna@yandex.ru"),
+                new UserDto(null, "Ghost twin", "ghost@yandex.ru"),
+                new UserDto(null, "Boris", "boris@yandex.ru"));
+
+        List<BatchResult> results = send("/users/batch", null, mapper.writeValueAsString(users));
+
+        assertThat(results).extracting(BatchResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(1).getId()).isNull();
+        assertThat(results.get(1).getError()).isNotNull();
+        assertThat(results.get(2).getId()).isNotNull();
+        assertThat(userRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldInsertRequestsInChunks() throws Exception {
+        List<ItemRequestDto> requests = List.of(
+                new ItemRequestDto(null, "Need a drill", null, null),
+                new ItemRequestDto(null, " ", null, null),
+                new ItemRequestDto(null, "Need a tent", null, null));
+
+        long requestorId = userService.create(new UserDto(null, "Irina", "irina@yandex.ru")).getId();
+
+        List<BatchResult> results = send("/requests/batch", requestorId, mapper.writeValueAsString(requests));
+
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(1).getError()).startsWith("description:");
+        assertThat(results.get(2).getId()).isNotNull();
+        assertThat(itemRequestRepository.findByRequestor_Id(requestorId)).hasSize(2);
+    }
+
+    private List<BatchResult> send(String path, Long userId, String body) throws Exception {
+        MockHttpServletRequestBuilder builder = post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", userId);
+        }
+        MvcResult result = mvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String content = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<BatchResult> results = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            results.add(mapper.readValue(line, BatchResult.class));
+        }
+        return results;
+    }
+}
@@ -6,12 +6,17 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.common.CursorPage;
+import ru.practicum.shareit.common.NdjsonWriter;
 import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -20,10 +25,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
+@Import(NdjsonWriter.class)
 class UserControllerTest {
     private final UserDto userJohn = new UserDto(1L, "John", "john@yandex.ru");
     private final UserDto updateUserJohn = new UserDto(null, "John", "johnjunior@yandex.ru");
@@ -79,8 +88,8 @@ class UserControllerTest {
     @Test
     void getAll_shouldBeSuccess() throws Exception {
         Mockito
-                .when(userService.getAll())
-                .thenReturn(List.of(userJohn));
+                .when(userService.getAll(null, 100))
+                .thenReturn(new CursorPage<>(List.of(userJohn), null));
 
         mvc.perform(
                         get("/users")
@@ -93,7 +102,43 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.[0].email", is(userJohn.getEmail())));
 
         Mockito.verify(userService, times(1))
-                .getAll();
+                .getAll(null, 100);
+    }
+
+    @Test
+    void getAll_shouldReturnNextCursorHeader() throws Exception {
+        Mockito
+                .when(userService.getAll(0L, 1))
+                .thenReturn(new CursorPage<>(List.of(userJohn), userJohn.getId()));
+
+        mvc.perform(
+                        get("/users")
+                                .param("cursor", "0")
+                                .param("size", "1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, String.valueOf(userJohn.getId())))
+                .andExpect(jsonPath("$.[0].id", is(userJohn.getId()), Long.class));
+    }
+
+    @Test
+    void stream_shouldWriteNdjson() throws Exception {
+        Mockito
+                .doAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(0);
+                    out.write((mapper.writeValueAsString(userJohn) + "\n").getBytes(StandardCharsets.UTF_8));
+                    return null;
+                })
+                .when(userService).streamAll(any());
+
+        MvcResult result = mvc.perform(get("/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonWriter.CONTENT_TYPE))
+                .andExpect(content().string(mapper.writeValueAsString(userJohn) + "\n"));
     }
 
     @Test
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(value = {"/ru/practicum/shareit/item/dashboard/after-dashboard.sql"}, executionPhase = AFTER_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserDataEraseTest {
+
+    private final MockMvc mvc;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserService userService;
+
+    private long erased;
+    private long kept;
+
+    @BeforeEach
+    void setUp() {
+        erased = userService.create(new UserDto(null, "Oleg", "oleg@yandex.ru")).getId();
+        kept = userService.create(new UserDto(null, "Irina", "irina@yandex.ru")).getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        jdbcTemplate.update("insert into requests (id, description, requestor_id, created) values (?, ?, ?, ?)",
+                100L, "Need a drill", erased, now);
+        jdbcTemplate.update("insert into requests (id, description, requestor_id, created) values (?, ?, ?, ?)",
+                101L, "Need a dryer", kept, now);
+        jdbcTemplate.update("insert into items (id, name, description, is_available, owner_id, request_id, " +
+                "comments_count) values (?, ?, ?, ?, ?, ?, ?)", 200L, "Ladder", "Tall", true, erased, null, 1L);
+        jdbcTemplate.update("insert into items (id, name, description, is_available, owner_id, request_id, " +
+                "comments_count) values (?, ?, ?, ?, ?, ?, ?)", 201L, "Drill", "Loud", true, kept, 100L, 2L);
+        jdbcTemplate.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", 300L, now.minusDays(2), now.minusDays(1), 200L, kept, "APPROVED");
+        jdbcTemplate.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", 301L, now.plusDays(1), now.plusDays(2), 201L, erased, "APPROVED");
+        jdbcTemplate.update("insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)",
+                400L, "Nice ladder", 200L, kept, now.minusHours(3));
+        jdbcTemplate.update("insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)",
+                401L, "Own drill", 201L, kept, now.minusHours(2));
+        jdbcTemplate.update("insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)",
+                402L, "Great drill", 201L, erased, now.minusHours(1));
+        jdbcTemplate.update("insert into owner_dashboard (item_id, owner_id, item_name, item_description, " +
+                "item_available, comments_count) values (?, ?, ?, ?, ?, ?)", 200L, erased, "Ladder", "Tall", true, 1L);
+        jdbcTemplate.update("insert into owner_dashboard (item_id, owner_id, item_name, item_description, " +
+                "item_available, next_booking_id, next_booking_booker_id, next_booking_end, comments_count, " +
+                "last_comment_id, last_comment_text, last_comment_author_name, last_comment_created) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", 201L, kept, "Drill", "Loud", true,
+                301L, erased, now.plusDays(2), 2L, 402L, "Great drill", "Oleg", now.minusHours(1));
+        jdbcTemplate.update("insert into item_terms (term, item_id, owner_id) values (?, ?, ?)",
+                "ladder", 200L, erased);
+        jdbcTemplate.update("insert into request_matches (request_id, owner_id, score) values (?, ?, ?)",
+                101L, erased, 1L);
+    }
+
+    @Test
+    void deleteWithData_shouldRemoveOnlyUserData() throws Exception {
+        mvc.perform(delete("/users/{id}/data", erased))
+                .andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForList("select id from users", Long.class)).containsExactly(kept);
+        assertThat(jdbcTemplate.queryForList("select id from requests", Long.class)).containsExactly(101L);
+        assertThat(jdbcTemplate.queryForList("select id from bookings", Long.class)).isEmpty();
+        assertThat(jdbcTemplate.queryForList("select id from comments", Long.class)).containsExactly(401L);
+        assertThat(count("item_terms")).isZero();
+        assertThat(count("request_matches")).isZero();
+
+        Map<String, Object> item = jdbcTemplate.queryForMap("select * from items");
+        assertThat(item.get("ID")).isEqualTo(201L);
+        assertThat(item.get("REQUEST_ID")).isNull();
+        assertThat(item.get("COMMENTS_COUNT")).isEqualTo(1L);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("select * from owner_dashboard");
+        assertThat(row.get("ITEM_ID")).isEqualTo(201L);
+        assertThat(row.get("COMMENTS_COUNT")).isEqualTo(1L);
+        assertThat(row.get("LAST_COMMENT_ID")).isEqualTo(401L);
+        assertThat(row.get("LAST_COMMENT_AUTHOR_NAME")).isEqualTo("Irina");
+        assertThat(row.get("REFRESH_AT")).isNotNull();
+    }
+
+    @Test
+    void deleteWithData_shouldReturnNotFoundForUnknownUser() throws Exception {
+        mvc.perform(delete("/users/{id}/data", 999L))
+                .andExpect(status().isNotFound());
+
+        assertThat(count("users")).isEqualTo(2);
+    }
+
+    @Test
+    void deleteAll_shouldRemoveEverything() throws Exception {
+        mvc.perform(delete("/users"))
+                .andExpect(status().isOk());
+
+        for (String table : List.of("users", "requests", "items", "bookings", "comments", "owner_dashboard",
+                "item_terms", "request_matches")) {
+            assertThat(count(table)).as(table).isZero();
+        }
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
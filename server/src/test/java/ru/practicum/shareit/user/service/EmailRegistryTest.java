@@ -0,0 +1,80 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.common.BloomFilter;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class EmailRegistryTest {
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final EmailRegistry emailRegistry = new EmailRegistry(userRepository, new SimpleMeterRegistry(),
+            true, 1000, 0.01);
+
+    @Test
+    void shouldSkipLookupForEmailsMissingFromFilter() {
+        Mockito.when(userRepository.streamEmails()).thenReturn(Stream.of("oleg@yandex.ru"));
+        emailRegistry.rebuild();
+
+        assertThat(emailRegistry.isTaken("irina@yandex.ru")).isFalse();
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void shouldConfirmPositivesWithLookup() {
+        Mockito.when(userRepository.streamEmails()).thenReturn(Stream.of("oleg@yandex.ru"));
+        Mockito.when(userRepository.existsByEmail("oleg@yandex.ru")).thenReturn(true);
+        emailRegistry.rebuild();
+
+        assertThat(emailRegistry.isTaken("oleg@yandex.ru")).isTrue();
+    }
+
+    @Test
+    void shouldLookUpEverythingUntilWarmedAndTrackAddedEmails() {
+        emailRegistry.isTaken("irina@yandex.ru");
+        verify(userRepository).existsByEmail("irina@yandex.ru");
+
+        Mockito.when(userRepository.streamEmails()).thenReturn(Stream.empty());
+        emailRegistry.rebuild();
+        emailRegistry.add("irina@yandex.ru");
+        Mockito.when(userRepository.existsByEmail("irina@yandex.ru")).thenReturn(true);
+
+        assertThat(emailRegistry.isTaken("irina@yandex.ru")).isTrue();
+    }
+
+    @Test
+    void shouldRebuildOnlyAfterRemovals() {
+        Mockito.when(userRepository.streamEmails()).thenReturn(Stream.of("oleg@yandex.ru"));
+        emailRegistry.rebuild();
+        emailRegistry.rebuild();
+        verify(userRepository, Mockito.times(1)).streamEmails();
+
+        Mockito.when(userRepository.streamEmails()).thenReturn(Stream.empty());
+        emailRegistry.remove();
+        emailRegistry.rebuild();
+
+        assertThat(emailRegistry.isTaken("oleg@yandex.ru")).isFalse();
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void bloomFilterShouldHaveNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i + "@mail.ru"));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i + "@mail.ru"))).isTrue();
+        long falsePositives = IntStream.range(10_000, 20_000)
+                .filter(i -> filter.mightContain("user" + i + "@mail.ru"))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
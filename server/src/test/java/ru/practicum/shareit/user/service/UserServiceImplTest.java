@@ -6,7 +6,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.cache.CacheInvalidationBus;
+import ru.practicum.shareit.common.CursorPage;
+import ru.practicum.shareit.common.NdjsonWriter;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidateException;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -26,6 +33,16 @@ class UserServiceImplTest {
     private final UserDto userDtoOleg = new UserDto(userOleg.getId(), userOleg.getName(), userOleg.getEmail());
     @Mock
     private UserRepository mockUserRepository;
+    @Mock
+    private CacheInvalidationBus mockCacheInvalidationBus;
+    @Mock
+    private NdjsonWriter mockNdjsonWriter;
+    @Mock
+    private EmailRegistry mockEmailRegistry;
+    @Mock
+    private UserBatchImporter mockUserBatchImporter;
+    @Mock
+    private UserDataEraser mockUserDataEraser;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -40,6 +57,16 @@ class UserServiceImplTest {
         assertEquals(userDtoOleg, user);
     }
 
+    @Test
+    void create_shouldThrowConflictIfEmailIsTaken() {
+        Mockito
+                .when(mockEmailRegistry.isTaken(userDtoOleg.getEmail()))
+                .thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> userService.create(userDtoOleg));
+        Mockito.verify(mockUserRepository, Mockito.never()).save(any());
+    }
+
     @Test
     void getById_shouldBeSuccess() {
         Mockito
@@ -60,10 +87,29 @@ class UserServiceImplTest {
     @Test
     void getAll_shouldBeSuccess() {
         Mockito
-                .when(mockUserRepository.findAll()).thenReturn(List.of(userOleg));
-        List<UserDto> users = userService.getAll();
+                .when(mockUserRepository.findByIdGreaterThanOrderById(0, PageRequest.of(0, 11)))
+                .thenReturn(List.of(userOleg));
+        CursorPage<UserDto> users = userService.getAll(null, 10);
 
-        assertEquals(List.of(userDtoOleg), users);
+        assertEquals(List.of(userDtoOleg), users.getContent());
+        assertNull(users.getNextCursor());
+    }
+
+    @Test
+    void getAll_shouldReturnNextCursorWhenMoreUsersExist() {
+        User userIrina = new User(2L, "Irina", "irina@yandex.ru");
+        Mockito
+                .when(mockUserRepository.findByIdGreaterThanOrderById(0, PageRequest.of(0, 2)))
+                .thenReturn(List.of(userOleg, userIrina));
+        CursorPage<UserDto> users = userService.getAll(0L, 1);
+
+        assertEquals(List.of(userDtoOleg), users.getContent());
+        assertEquals(userOleg.getId(), users.getNextCursor());
+    }
+
+    @Test
+    void getAll_shouldThrowExceptionIfSizeIsNotPositive() {
+        assertThrows(ValidateException.class, () -> userService.getAll(null, 0));
     }
 
     @Test
@@ -99,6 +145,20 @@ class UserServiceImplTest {
         assertEquals(userDtoIrina, user);
     }
 
+    @Test
+    void update_shouldThrowConflictIfEmailIsTakenConcurrently() {
+        User userIrina = new User(2L, "Irina", "irina@yandex.ru");
+        UserDto userIrinaUpdate = new UserDto(userIrina.getId(), null, userOleg.getEmail());
+        Mockito
+                .when(mockUserRepository.findById(userIrina.getId()))
+                .thenReturn(Optional.of(userIrina));
+        Mockito
+                .when(mockUserRepository.saveAndFlush(userIrina))
+                .thenThrow(new DataIntegrityViolationException("UQ_USER_EMAIL"));
+
+        assertThrows(ConflictException.class, () -> userService.update(userIrina.getId(), userIrinaUpdate));
+    }
+
     @Test
     void update_shouldThrowExceptionIfWrongUserId() {
         UserDto userDtoIrina = new UserDto(null, "Irina", "irinajunior@yanderx.ru");
@@ -116,10 +176,35 @@ class UserServiceImplTest {
                 .verify(mockUserRepository, Mockito.times(1)).deleteById(userOleg.getId());
     }
 
+    @Test
+    void deleteWithData_shouldEraseUser() {
+        Mockito
+                .when(mockUserRepository.existsById(1L))
+                .thenReturn(true);
+
+        userService.deleteWithData(1L);
+
+        Mockito
+                .verify(mockUserDataEraser, Mockito.times(1)).erase(1L);
+    }
+
+    @Test
+    void deleteWithData_shouldThrowNotFoundException() {
+        Mockito
+                .when(mockUserRepository.existsById(99L))
+                .thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> userService.deleteWithData(99L));
+        Mockito
+                .verify(mockUserDataEraser, Mockito.never()).erase(anyLong());
+    }
+
     @Test
     void deleteAll_shouldBeSuccess() {
         userService.deleteAll();
         Mockito
-                .verify(mockUserRepository, Mockito.times(1)).deleteAll();
+                .verify(mockUserDataEraser, Mockito.times(1)).eraseAll();
+        Mockito
+                .verify(mockUserRepository, Mockito.never()).deleteAll();
     }
 }
\ No newline at end of file
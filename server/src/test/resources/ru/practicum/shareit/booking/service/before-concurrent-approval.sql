@@ -0,0 +1,32 @@
+INSERT INTO users (id, name, email)
+VALUES (1, 'Oleg', 'oleg@yandex.ru');
+
+INSERT INTO users (id, name, email)
+VALUES (2, 'Irina', 'irina@yandex.ru');
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (3, 'Dryer', 'For curly hair', true, 1, null);
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (10, '2100-01-01 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (11, '2100-01-02 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (12, '2100-01-03 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (13, '2100-01-01 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (14, '2100-01-02 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (15, '2100-01-03 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (16, '2100-01-01 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (17, '2100-01-02 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
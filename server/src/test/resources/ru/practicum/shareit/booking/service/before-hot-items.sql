@@ -0,0 +1,35 @@
+INSERT INTO users (id, name, email)
+VALUES (1, 'Oleg', 'oleg@yandex.ru');
+
+INSERT INTO users (id, name, email)
+VALUES (2, 'Irina', 'irina@yandex.ru');
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (1, 'Item 1', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (2, 'Item 2', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (3, 'Item 3', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (4, 'Item 4', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (5, 'Item 5', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (6, 'Item 6', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (7, 'Item 7', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (8, 'Item 8', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (9, 'Item 9', 'Hot item', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (10, 'Item 10', 'Hot item', true, 1, null);
@@ -0,0 +1,23 @@
+INSERT INTO users (id, name, email)
+VALUES (1, 'Oleg', 'oleg@yandex.ru');
+
+INSERT INTO users (id, name, email)
+VALUES (2, 'Irina', 'irina@yandex.ru');
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (3, 'Dryer', 'For curly hair', true, 1, null);
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (10, '2020-01-01 12:00:00', '2020-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (11, '2020-02-01 12:00:00', '2020-02-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (12, '2020-03-01 12:00:00', '2020-03-05 12:00:00', 3, 2, 'APPROVED');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (13, '2020-04-01 12:00:00', '2020-04-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (14, '2100-01-01 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
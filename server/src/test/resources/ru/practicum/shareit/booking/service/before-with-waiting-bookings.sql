@@ -0,0 +1,23 @@
+INSERT INTO users (id, name, email)
+VALUES (1, 'Oleg', 'oleg@yandex.ru');
+
+INSERT INTO users (id, name, email)
+VALUES (2, 'Irina', 'irina@yandex.ru');
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (3, 'Dryer', 'For curly hair', true, 1, null);
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+VALUES (5, 'Drill', 'For concrete', true, 2, null);
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (7, '2100-01-01 12:00:00', '2100-01-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (8, '2100-01-03 12:00:00', '2100-01-07 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (9, '2100-02-01 12:00:00', '2100-02-05 12:00:00', 3, 2, 'WAITING');
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+VALUES (10, '2100-01-01 12:00:00', '2100-01-05 12:00:00', 5, 1, 'WAITING');
@@ -0,0 +1,20 @@
+DELETE FROM item_terms;
+DELETE FROM request_matches;
+
+DELETE FROM comments;
+ALTER TABLE comments ALTER COLUMN id RESTART WITH 1;
+
+DELETE FROM bookings;
+ALTER TABLE bookings ALTER COLUMN id RESTART WITH 1;
+
+DELETE FROM owner_dashboard;
+DELETE FROM outbox_events;
+
+DELETE FROM items;
+ALTER TABLE items ALTER COLUMN id RESTART WITH 1;
+
+DELETE FROM requests;
+ALTER TABLE requests ALTER COLUMN id RESTART WITH 1;
+
+DELETE FROM users;
+ALTER TABLE users ALTER COLUMN id RESTART WITH 1;
@@ -0,0 +1,5 @@
+INSERT INTO users (id, name, email)
+VALUES (1, 'Oleg', 'oleg@yandex.ru');
+
+INSERT INTO users (id, name, email)
+VALUES (2, 'Irina', 'irina@yandex.ru');